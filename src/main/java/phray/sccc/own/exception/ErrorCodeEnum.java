@@ -29,6 +29,14 @@ public enum ErrorCodeEnum {
 
 	ASYNC_EXEC_EXCEPTION("102", "异步执行错误，线程内部异常"),
 
+	THREAD_POOL_BUSY("103", "线程池繁忙，等待提交许可超时"),
+
+	TASK_DEADLINE_EXCEEDED("104", "任务已超过批次截止时间"),
+
+	BULKHEAD_FULL("105", "业务隔离舱已满，任务被拒绝"),
+
+	TASK_TIMEOUT("106", "任务执行超时"),
+
 	UNKNOWN_EXCEPTION("999", "未知异常"),
 	;
 
@@ -5,8 +5,6 @@
 package phray.sccc.own.thread;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
-import phray.sccc.own.log.LoggerUtil;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
@@ -38,19 +36,13 @@ public abstract class BaseInnerCall<R> extends BaseJob implements Callable<R> {
 	 */
 	@Override
 	public R call() {
-		StopWatch sw = new StopWatch(getDesc());
 		try {
-			sw.start();
 			super.onBefore();
 			return doCall();
 		} catch (Exception e) {
 			super.onError(e);
 			return null;
 		} finally {
-			if (sw.isRunning()) {
-				sw.stop();
-				LoggerUtil.info(log, "任务: [%s] - 耗时: [%s]ms", sw.getId(), sw.getTotalTimeMillis());
-			}
 			super.onEnd();
 		}
 	}
@@ -5,8 +5,6 @@
 package phray.sccc.own.thread;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StopWatch;
-import phray.sccc.own.log.LoggerUtil;
 
 import java.util.concurrent.CountDownLatch;
 
@@ -44,18 +42,12 @@ public abstract class BaseInnerRun extends BaseJob implements Runnable {
 	 */
 	@Override
 	public void run() {
-		StopWatch sw = new StopWatch(getDesc());
 		try {
-			sw.start();
 			super.onBefore();
 			doRun();
 		} catch (Exception e) {
 			super.onError(e);
 		} finally {
-			if (sw.isRunning()) {
-				sw.stop();
-				LoggerUtil.info(log, "任务: [%s] - 耗时: [%s]ms", sw.getId(), sw.getTotalTimeMillis());
-			}
 			super.onEnd();
 		}
 	}
@@ -4,11 +4,12 @@
  */
 package phray.sccc.own.thread;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
-import org.slf4j.MDC;
 import phray.sccc.own.exception.BizException;
 import phray.sccc.own.exception.ErrorCodeEnum;
 import phray.sccc.own.exception.SysException;
@@ -32,9 +33,23 @@ import java.util.concurrent.atomic.AtomicReference;
 public class BaseJob {
 
     /**
-     * trace信息，存储MDC
+     * 线程上下文快照(MDC与已注册的ThreadLocal)，由ThreadPoolHelper按批次捕获一次后共享
      */
-    private Map<String, String> traceContext;
+    private ContextSnapshot context;
+
+    /**
+     * 执行期间的上下文作用域，结束时恢复执行线程原有的上下文
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile ContextSnapshot.Scope contextScope;
+
+    /**
+     * 上下文作用域所属的执行线程
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile Thread contextOwner;
 
     /**
      * 发令枪
@@ -51,6 +66,51 @@ public class BaseJob {
      */
     private AtomicReference<RuntimeException> errorReference;
 
+    /**
+     * 快速失败标识：首个异常出现后立即释放发令枪，由主线程取消其余任务
+     */
+    private boolean failFast;
+
+    /**
+     * 本任务是否执行失败(用于线程池失败统计)
+     */
+    private volatile boolean failed;
+
+    /**
+     * 批次截止时间(可空)，doRun/doCall内可据此获取剩余时间
+     */
+    private Deadline deadline;
+
+    /**
+     * 单任务超时时间(ms)，<=0表示不超时；自创建执行Future(提交)时开始计时，
+     * 超时后未开始的任务直接失败不再执行，执行中的任务被中断
+     *
+     * @see JobFutureTask
+     */
+    private long timeoutMillis;
+
+    /**
+     * 优先级，越大越优先(默认0)，仅在优先级队列的线程池中生效
+     *
+     * @see QueueTypeEnum#PRIORITY
+     */
+    private int priority;
+
+    /**
+     * 提交时间(System.nanoTime)
+     */
+    private long submitNanos;
+
+    /**
+     * 开始执行时间(System.nanoTime)，未执行时为0
+     */
+    private long startNanos;
+
+    /**
+     * 执行结束时间(System.nanoTime)，未结束时为0
+     */
+    private long endNanos;
+
     /**
      * 任务描述(可选)
      */
@@ -58,7 +118,6 @@ public class BaseJob {
 
     protected BaseJob() {
         desc = "DEFAULT";
-        traceContext = MDC.getCopyOfContextMap();
     }
 
     protected BaseJob(String bizName) {
@@ -73,11 +132,17 @@ public class BaseJob {
     }
 
     /**
-     * 前置：资源注入
+     * 前置：资源注入；已过批次截止时间的任务直接失败，不再执行
      */
     protected final void onBefore() {
-        if (Objects.nonNull(traceContext)) {
-            MDC.setContextMap(traceContext);
+        startNanos = System.nanoTime();
+        failed = false;
+        if (Objects.nonNull(context)) {
+            contextOwner = Thread.currentThread();
+            contextScope = context.attach();
+        }
+        if (Objects.nonNull(deadline)) {
+            deadline.checkNotExpired(desc);
         }
     }
 
@@ -88,35 +153,93 @@ public class BaseJob {
      */
     protected final void onError(Exception e) {
         LoggerUtil.error(log, e, "Job: [%s]-线程内部执行异常 -> [%s]", desc, ExceptionUtils.getStackTrace(e));
+        failed = true;
         if (!ObjectUtil.allNotNull(errorFlag, errorReference)) {
             throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, e, ExceptionUtils.getMessage(e));
         }
 
+        RuntimeException error;
+        if (e instanceof BizException) {
+            error = (BizException) e;
+        } else if (e instanceof SysException) {
+            error = (SysException) e;
+        } else {
+            error = new BizException(
+                    ErrorCodeEnum.ASYNC_EXEC_EXCEPTION, e, ExceptionUtils.getStackTrace(e));
+        }
+        reportError(error);
+    }
+
+    /**
+     * 放弃执行：未开始即超时的任务不再执行，按失败处理并释放发令枪
+     *
+     * @param error 失败原因
+     */
+    final void abandon(RuntimeException error) {
+        LoggerUtil.warn(log, "Job: [%s]-未开始执行即失败 -> [%s]", desc, error.getMessage());
+        failed = true;
+        if (ObjectUtil.allNotNull(errorFlag, errorReference)) {
+            reportError(error);
+        }
+        if (Objects.nonNull(countDownLatch)) {
+            countDownLatch.countDown();
+        }
+    }
+
+    /**
+     * 将异常上报到批次：标记异常并填充异常对象，快速失败时释放发令枪
+     *
+     * @param error 异常对象
+     */
+    private void reportError(RuntimeException error) {
         // 1-标记异常
         errorFlag.set(true);
 
         // 2-填充异常对象
-        if (e instanceof BizException) {
-            errorReference.set((BizException) e);
-        } else if (e instanceof SysException) {
-            errorReference.set((SysException) e);
-        } else {
-            errorReference.set(
-                    new BizException(
-                            ErrorCodeEnum.ASYNC_EXEC_EXCEPTION, e, ExceptionUtils.getStackTrace(e))
-            );
+        if (!failFast) {
+            errorReference.set(error);
+            return;
+        }
+
+        // 3-快速失败：保留首个异常(后续被中断的任务不覆盖根因)，并释放发令枪唤醒主线程
+        errorReference.compareAndSet(null, error);
+        if (Objects.nonNull(countDownLatch)) {
+            while (countDownLatch.getCount() > 0) {
+                countDownLatch.countDown();
+            }
         }
     }
 
     /**
-     * 后置：释放资源; cdl.countDown()
+     * 后置：释放资源; cdl.countDown()，记录耗时，并恢复执行线程原有的上下文
      */
     protected final void onEnd() {
+        endNanos = System.nanoTime();
+        TaskTimingRecorder.record(desc, endNanos - startNanos);
         if (Objects.nonNull(countDownLatch)) {
             countDownLatch.countDown();
         }
-        if (MapUtils.isNotEmpty(traceContext)) {
-            MDC.clear();
+        detachContext();
+    }
+
+    /**
+     * trace信息(只读MDC快照)
+     *
+     * @return MDC，无上下文时为null
+     */
+    public Map<String, String> getTraceContext() {
+        return Objects.isNull(context) ? null : context.getMdc();
+    }
+
+    /**
+     * 恢复执行线程原有的上下文；仅在执行onBefore的线程上生效(对冲执行时onEnd可能在另一个线程上执行)
+     */
+    final void detachContext() {
+        ContextSnapshot.Scope scope = contextScope;
+        if (Objects.nonNull(scope) && contextOwner == Thread.currentThread()) {
+            contextScope = null;
+            contextOwner = null;
+            scope.close();
         }
     }
 }
@@ -0,0 +1,68 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 批任务执行选项
+ *
+ * @author Phray
+ * @Version BatchOptions.java, v 0.1 2026-10-17 16:50 Sccc Exp $
+ */
+@Getter
+@Builder
+@ToString
+public class BatchOptions {
+
+	/**
+	 * 快速失败：首个任务异常后丢弃未开始的任务、中断运行中的任务，并立即抛出异常
+	 */
+	private final boolean failFast;
+
+	/**
+	 * 分片执行：按线程池并行度只提交有限个执行单元，由执行单元循环领取任务下标，
+	 * 任务列表再大，队列占用与提交开销也保持不变；不支持单任务超时({@link BaseJob#getTimeoutMillis()})
+	 */
+	private final boolean chunked;
+
+	/**
+	 * 背压提交：提交前等待线程池的在途许可，减少队列满时由拒绝策略(CallerRuns)在调用线程执行任务；
+	 * 线程池同时承载其他不经许可的提交时，拒绝策略仍可能生效
+	 *
+	 * @see MonitoredThreadPoolExecutor#executeWithPermit(Runnable, long, java.util.concurrent.TimeUnit)
+	 */
+	private final boolean backpressure;
+
+	/**
+	 * 背压模式下等待在途许可的最长时间(ms)，超时抛出{@link phray.sccc.own.exception.BizException}
+	 */
+	@Builder.Default
+	private final long permitTimeoutMillis = 1000L;
+
+	/**
+	 * 整批截止时间(ms)，<=0表示不限制(仅对无timeout参数的入口生效)；
+	 * 截止时间到达时取消剩余任务并抛出异常，任务可通过{@link BaseJob#getDeadline()}获取剩余时间
+	 */
+	private final long timeoutMillis;
+
+	/**
+	 * 对冲执行策略(可空)，仅对幂等的Callable任务生效，分片模式下不生效
+	 *
+	 * @see HedgePolicy
+	 */
+	private final HedgePolicy hedgePolicy;
+
+	/**
+	 * 默认选项
+	 *
+	 * @return 默认选项
+	 */
+	public static BatchOptions defaults() {
+		return BatchOptions.builder().build();
+	}
+}
@@ -0,0 +1,216 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.extern.slf4j.Slf4j;
+import phray.sccc.own.exception.BizException;
+import phray.sccc.own.exception.ErrorCodeEnum;
+import phray.sccc.own.log.LoggerUtil;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 流式批任务结果：按完成顺序逐个返回任务结果，同时在途(执行中 + 已完成未消费)的任务数不超过maxInFlight
+ * <p>
+ * 每消费一个结果才从任务源再提交一个任务，消费慢时生产随之放缓，堆上最多保留maxInFlight个结果；
+ * 任务源为惰性Iterable时任务本身也按需创建
+ * </p>
+ * 首个任务异常或整批超时即取消在途任务并抛出；非线程安全，只能由一个线程消费，提前结束时需{@link #close()}
+ *
+ * @param <R> 结果类型
+ * @author Phray
+ * @Version BatchResultIterator.java, v 0.1 2026-10-18 00:20 Sccc Exp $
+ * @see ThreadPoolHelper#runBatchTasksStreaming(Iterable, int, long, TimeUnit, String, ThreadPoolEnum)
+ */
+@Slf4j
+public final class BatchResultIterator<R> implements Iterator<R>, AutoCloseable {
+
+	private final String bizName;
+
+	private final MonitoredThreadPoolExecutor executor;
+
+	private final Bulkhead bulkhead;
+
+	private final Iterator<? extends BaseInnerCall<R>> source;
+
+	private final int maxInFlight;
+
+	private final Deadline deadline;
+
+	private final ContextSnapshot context;
+
+	private final AtomicBoolean errorFlag = new AtomicBoolean();
+
+	private final AtomicReference<RuntimeException> errorRef = new AtomicReference<>();
+
+	/**
+	 * 在途任务(执行中 + 已完成未消费)
+	 */
+	private final Set<JobFutureTask<R>> inFlight = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * 已完成待消费的任务，按完成顺序
+	 */
+	private final BlockingQueue<JobFutureTask<R>> completionQueue = new LinkedBlockingQueue<>();
+
+	private boolean closed;
+
+	private long consumedCnt;
+
+	BatchResultIterator(String bizName, MonitoredThreadPoolExecutor executor, Bulkhead bulkhead,
+						Iterator<? extends BaseInnerCall<R>> source, int maxInFlight, Deadline deadline) {
+		this.bizName = bizName;
+		this.executor = executor;
+		this.bulkhead = bulkhead;
+		this.source = source;
+		this.maxInFlight = maxInFlight;
+		this.deadline = deadline;
+		this.context = ContextSnapshot.capture();
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (closed) {
+			return false;
+		}
+		fill();
+		return !inFlight.isEmpty();
+	}
+
+	@Override
+	public R next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		try {
+			helpIfNested();
+			JobFutureTask<R> future = Objects.isNull(deadline) ? completionQueue.take()
+					: completionQueue.poll(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+			if (Objects.isNull(future)) {
+				throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, "异步任务[%s]执行超时, 已消费: [%d]",
+						bizName, consumedCnt);
+			}
+			R result = future.get();
+			if (errorFlag.get()) {
+				throw errorRef.get();
+			}
+			inFlight.remove(future);
+			consumedCnt++;
+			return result;
+		} catch (RuntimeException e) {
+			close();
+			LoggerUtil.error(log, e, "[%s]: 执行异常!", bizName);
+			throw e;
+		} catch (ExecutionException e) {
+			close();
+			LoggerUtil.error(log, e, "[%s]: 执行异常!", bizName);
+			throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+					: new BizException(ErrorCodeEnum.ASYNC_EXEC_EXCEPTION, e.getCause());
+		} catch (InterruptedException e) {
+			close();
+			Thread.currentThread().interrupt();
+			LoggerUtil.error(log, e, "[%s]: 异步执行被中断!", bizName);
+			throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, e, "[%s]: 异步执行被中断!", bizName);
+		}
+	}
+
+	/**
+	 * 以Stream消费结果，Stream关闭时取消在途任务
+	 *
+	 * @return 顺序Stream
+	 */
+	public Stream<R> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+				.onClose(this::close);
+	}
+
+	/**
+	 * @return 已消费的结果数
+	 */
+	public long getConsumedCnt() {
+		return consumedCnt;
+	}
+
+	/**
+	 * 停止提交并取消在途任务，可重复调用
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		for (JobFutureTask<R> future : inFlight) {
+			future.cancel(true);
+		}
+		inFlight.clear();
+		completionQueue.clear();
+	}
+
+	/**
+	 * 补足在途任务，提交被拒绝时关闭并抛出
+	 */
+	private void fill() {
+		while (inFlight.size() < maxInFlight && source.hasNext()) {
+			BaseInnerCall<R> task = source.next();
+			task.setContext(context);
+			task.setCountDownLatch(null);
+			task.setErrorFlag(errorFlag);
+			task.setErrorReference(errorRef);
+			task.setDeadline(deadline);
+			task.setFailFast(true);
+			task.setSubmitNanos(System.nanoTime());
+			JobFutureTask<R> future = new JobFutureTask<R>(task) {
+				@Override
+				protected void done() {
+					super.done();
+					completionQueue.add(this);
+				}
+			};
+			inFlight.add(future);
+			try {
+				if (Objects.isNull(bulkhead)) {
+					executor.execute(future);
+				} else {
+					bulkhead.execute(executor, future);
+				}
+			} catch (RuntimeException e) {
+				close();
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * 嵌套在同一线程池的工作线程中消费时，在当前线程执行未开始的任务，避免等待排在自己身后的任务
+	 */
+	private void helpIfNested() {
+		if (!executor.isCurrentThreadWorker()) {
+			return;
+		}
+		for (JobFutureTask<R> future : inFlight) {
+			if (!completionQueue.isEmpty()) {
+				return;
+			}
+			if (!future.isDone()) {
+				future.run();
+			}
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 批任务执行摘要：排队耗时(提交->开始)与执行耗时(开始->结束)的最大值与P99，单位: ms
+ *
+ * @author Phray
+ * @Version BatchSummary.java, v 0.1 2026-10-17 15:40 Sccc Exp $
+ */
+@Getter
+@ToString
+public class BatchSummary {
+
+	/**
+	 * 业务名
+	 */
+	private final String bizName;
+
+	/**
+	 * 任务总数
+	 */
+	private final int taskCnt;
+
+	/**
+	 * 已执行完成的任务数(快速失败/超时时可能小于任务总数)
+	 */
+	private final int finishedCnt;
+
+	/**
+	 * 整批耗时
+	 */
+	private final double elapsedMillis;
+
+	/**
+	 * 最大排队耗时
+	 */
+	private final double maxWaitMillis;
+
+	/**
+	 * 排队耗时P99
+	 */
+	private final double p99WaitMillis;
+
+	/**
+	 * 最大执行耗时
+	 */
+	private final double maxRunMillis;
+
+	/**
+	 * 执行耗时P99
+	 */
+	private final double p99RunMillis;
+
+	private BatchSummary(String bizName, int taskCnt, int finishedCnt, long elapsedNanos,
+						 long[] waitNanos, long[] runNanos) {
+		this.bizName = bizName;
+		this.taskCnt = taskCnt;
+		this.finishedCnt = finishedCnt;
+		this.elapsedMillis = toMillis(elapsedNanos);
+		this.maxWaitMillis = toMillis(max(waitNanos));
+		this.p99WaitMillis = toMillis(p99(waitNanos));
+		this.maxRunMillis = toMillis(max(runNanos));
+		this.p99RunMillis = toMillis(p99(runNanos));
+	}
+
+	/**
+	 * 根据任务上记录的时间戳生成摘要
+	 *
+	 * @param bizName    业务名
+	 * @param jobs       任务列表
+	 * @param beginNanos 整批开始时间(System.nanoTime)
+	 * @return 摘要
+	 */
+	static BatchSummary of(String bizName, List<? extends BaseJob> jobs, long beginNanos) {
+		long elapsedNanos = System.nanoTime() - beginNanos;
+		long[] waitNanos = new long[jobs.size()];
+		long[] runNanos = new long[jobs.size()];
+		int finishedCnt = 0;
+		for (BaseJob job : jobs) {
+			if (job.getStartNanos() == 0L || job.getEndNanos() == 0L) {
+				continue;
+			}
+			waitNanos[finishedCnt] = job.getStartNanos() - job.getSubmitNanos();
+			runNanos[finishedCnt] = job.getEndNanos() - job.getStartNanos();
+			finishedCnt++;
+		}
+		return new BatchSummary(bizName, jobs.size(), finishedCnt, elapsedNanos,
+				Arrays.copyOf(waitNanos, finishedCnt), Arrays.copyOf(runNanos, finishedCnt));
+	}
+
+	private static long max(long[] values) {
+		long max = 0L;
+		for (long value : values) {
+			max = Math.max(max, value);
+		}
+		return max;
+	}
+
+	private static long p99(long[] values) {
+		if (values.length == 0) {
+			return 0L;
+		}
+		Arrays.sort(values);
+		return values[(int) Math.ceil(values.length * 0.99D) - 1];
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000D;
+	}
+}
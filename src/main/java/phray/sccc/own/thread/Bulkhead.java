@@ -0,0 +1,290 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.extern.slf4j.Slf4j;
+import phray.sccc.own.exception.BizException;
+import phray.sccc.own.exception.ErrorCodeEnum;
+import phray.sccc.own.log.LoggerUtil;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 业务隔离舱：在共享线程池内限制单个bizName的并发数与等待数
+ * <p>
+ * 并发未满时任务直接进入线程池；已满时进入隔离舱内的无锁等待队列，
+ * 由结束的任务在释放并发名额后领取下一个等待任务提交到线程池；等待队列也满时按拒绝方式处理。
+ * 提交与释放均为CAS计数，无锁
+ * </p>
+ * <p>
+ * 等待任务以不内联方式提交(见{@link MonitoredThreadPoolExecutor#executeNoInline(Runnable)})，不会在释放名额的线程上执行，
+ * 领取循环不随等待队列长度递归；提交失败时放弃该任务({@link JobFutureTask#abandon(RuntimeException)}，
+ * 释放批次发令枪并上报异常)，等待方不会因任务丢失而一直阻塞
+ * </p>
+ *
+ * @author Phray
+ * @Version Bulkhead.java, v 0.1 2026-10-17 20:50 Sccc Exp $
+ */
+@Slf4j
+final class Bulkhead implements BulkheadMXBean {
+
+	/**
+	 * JMX域
+	 */
+	private static final String JMX_DOMAIN = "phray.sccc.own.thread";
+
+	private final String bizName;
+
+	private final BulkheadConfig config;
+
+	private final AtomicInteger runningCnt = new AtomicInteger();
+
+	private final AtomicInteger pendingCnt = new AtomicInteger();
+
+	/**
+	 * 等待中的任务(已绑定目标线程池)
+	 */
+	private final Queue<PendingTask> pending = new ConcurrentLinkedQueue<>();
+
+	private final LongAdder admittedCnt = new LongAdder();
+
+	private final LongAdder queuedCnt = new LongAdder();
+
+	private final LongAdder rejectedCnt = new LongAdder();
+
+	private final LongAdder callerRunsCnt = new LongAdder();
+
+	Bulkhead(String bizName, BulkheadConfig config) {
+		this.bizName = bizName;
+		this.config = config;
+	}
+
+	/**
+	 * 提交任务
+	 *
+	 * @param executor 目标线程池
+	 * @param command  任务
+	 * @throws BizException 隔离舱已满且拒绝方式为{@link BulkheadRejectEnum#ABORT}
+	 */
+	void execute(Executor executor, Runnable command) {
+		execute(executor, command, true);
+	}
+
+	/**
+	 * 提交任务
+	 *
+	 * @param executor      目标线程池
+	 * @param command       任务
+	 * @param inlineAllowed 隔离舱已满时是否允许按{@link BulkheadRejectEnum#CALLER_RUNS}在提交线程执行，
+	 *                      false时一律抛出异常(异步提交不占用调用线程)
+	 * @throws BizException 隔离舱已满且拒绝方式为{@link BulkheadRejectEnum#ABORT}或不允许在提交线程执行
+	 */
+	void execute(Executor executor, Runnable command, boolean inlineAllowed) {
+		if (tryAcquire()) {
+			admittedCnt.increment();
+			launch(executor, command);
+			return;
+		}
+		if (pendingCnt.incrementAndGet() <= config.getMaxPending()) {
+			queuedCnt.increment();
+			pending.offer(new PendingTask(executor, command));
+			// 入队期间可能已有任务释放名额，补偿一次领取
+			drain();
+			return;
+		}
+		pendingCnt.decrementAndGet();
+		rejectedCnt.increment();
+		if (inlineAllowed && BulkheadRejectEnum.CALLER_RUNS == config.getRejectPolicy()) {
+			callerRunsCnt.increment();
+			command.run();
+			return;
+		}
+		throw new BizException(ErrorCodeEnum.BULKHEAD_FULL, "bulkhead: [%s] 已满, maxConcurrent: [%d], maxPending: [%d]",
+				bizName, config.getMaxConcurrent(), config.getMaxPending());
+	}
+
+	private boolean tryAcquire() {
+		for (; ; ) {
+			int current = runningCnt.get();
+			if (current >= config.getMaxConcurrent()) {
+				return false;
+			}
+			if (runningCnt.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * 提交到线程池，任务结束(含在提交线程执行、被取消后空跑)时释放名额并领取下一个等待任务
+	 */
+	private void launch(Executor executor, Runnable command) {
+		try {
+			executor.execute(new ReleasingTask(command));
+		} catch (RuntimeException e) {
+			release();
+			throw e;
+		}
+	}
+
+	private void release() {
+		runningCnt.decrementAndGet();
+		drain();
+	}
+
+	/**
+	 * 领取等待任务提交到线程池，提交失败时归还名额、放弃该任务并继续领取
+	 */
+	private void drain() {
+		while (!pending.isEmpty() && tryAcquire()) {
+			PendingTask next = pending.poll();
+			if (Objects.isNull(next)) {
+				runningCnt.decrementAndGet();
+				continue;
+			}
+			pendingCnt.decrementAndGet();
+			try {
+				executeNoInline(next.executor, new ReleasingTask(next.command));
+			} catch (RuntimeException e) {
+				runningCnt.decrementAndGet();
+				// 领取线程可能是其他任务的工作线程，异常不向上传播
+				fail(next.command, e);
+			}
+		}
+	}
+
+	private static void executeNoInline(Executor executor, Runnable task) {
+		if (executor instanceof MonitoredThreadPoolExecutor) {
+			((MonitoredThreadPoolExecutor) executor).executeNoInline(task);
+		} else {
+			executor.execute(task);
+		}
+	}
+
+	/**
+	 * 等待任务提交失败：放弃任务，由任务自身完成失败流程
+	 */
+	private void fail(Runnable command, RuntimeException e) {
+		LoggerUtil.warn(log, e, "bulkhead: [%s] 等待任务提交失败", bizName);
+		RuntimeException error = e instanceof BizException ? e
+				: new BizException(ErrorCodeEnum.THREAD_POOL_BUSY, e, "bulkhead: [%s] 等待任务提交被拒绝", bizName);
+		if (command instanceof JobFutureTask) {
+			((JobFutureTask<?>) command).abandon(error);
+		} else if (command instanceof Future) {
+			((Future<?>) command).cancel(false);
+		}
+	}
+
+	/**
+	 * 等待中的任务及其目标线程池
+	 */
+	private static final class PendingTask {
+
+		private final Executor executor;
+
+		private final Runnable command;
+
+		private PendingTask(Executor executor, Runnable command) {
+			this.executor = executor;
+			this.command = command;
+		}
+	}
+
+	/**
+	 * 结束时释放名额的任务包装，保留原任务以便线程池识别任务本身
+	 */
+	final class ReleasingTask implements Runnable {
+
+		private final Runnable delegate;
+
+		private ReleasingTask(Runnable delegate) {
+			this.delegate = delegate;
+		}
+
+		Runnable getDelegate() {
+			return delegate;
+		}
+
+		@Override
+		public void run() {
+			try {
+				delegate.run();
+			} finally {
+				release();
+			}
+		}
+	}
+
+	/**
+	 * 注册到平台MBeanServer，同名已存在时替换
+	 */
+	void registerMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(JMX_DOMAIN + ":type=Bulkhead,name=" + ObjectName.quote(bizName));
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(this, name);
+		} catch (JMException e) {
+			LoggerUtil.warn(log, e, "bulkhead: [%s] MBean注册失败", bizName);
+		}
+	}
+
+	@Override
+	public int getMaxConcurrent() {
+		return config.getMaxConcurrent();
+	}
+
+	@Override
+	public int getMaxPending() {
+		return config.getMaxPending();
+	}
+
+	@Override
+	public int getRunningCnt() {
+		return runningCnt.get();
+	}
+
+	@Override
+	public int getPendingCnt() {
+		return pendingCnt.get();
+	}
+
+	@Override
+	public double getSaturation() {
+		return config.getMaxConcurrent() <= 0 ? 1D : (double) runningCnt.get() / config.getMaxConcurrent();
+	}
+
+	@Override
+	public long getAdmittedCnt() {
+		return admittedCnt.sum();
+	}
+
+	@Override
+	public long getQueuedCnt() {
+		return queuedCnt.sum();
+	}
+
+	@Override
+	public long getRejectedCnt() {
+		return rejectedCnt.sum();
+	}
+
+	@Override
+	public long getCallerRunsCnt() {
+		return callerRunsCnt.sum();
+	}
+}
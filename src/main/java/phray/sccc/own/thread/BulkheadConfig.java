@@ -0,0 +1,38 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 业务隔离舱配置：限制单个bizName在共享线程池内的并发数与等待数
+ *
+ * @author Phray
+ * @Version BulkheadConfig.java, v 0.1 2026-10-17 20:42 Sccc Exp $
+ * @see ThreadPoolHelper#registerBulkhead(String, BulkheadConfig)
+ */
+@Getter
+@Builder
+@ToString
+public class BulkheadConfig {
+
+	/**
+	 * 最大并发数(同时进入线程池的任务数，含线程池队列中排队的任务)
+	 */
+	private final int maxConcurrent;
+
+	/**
+	 * 最大等待数(超出并发数后在隔离舱内等待的任务数)
+	 */
+	private final int maxPending;
+
+	/**
+	 * 隔离舱已满时的拒绝方式
+	 */
+	@Builder.Default
+	private final BulkheadRejectEnum rejectPolicy = BulkheadRejectEnum.ABORT;
+}
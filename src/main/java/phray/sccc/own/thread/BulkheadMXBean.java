@@ -0,0 +1,60 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+/**
+ * 业务隔离舱指标(JMX)，ObjectName: phray.sccc.own.thread:type=Bulkhead,name={bizName}
+ *
+ * @author Phray
+ * @Version BulkheadMXBean.java, v 0.1 2026-10-17 20:45 Sccc Exp $
+ * @see Bulkhead
+ */
+public interface BulkheadMXBean {
+
+	/**
+	 * @return 最大并发数
+	 */
+	int getMaxConcurrent();
+
+	/**
+	 * @return 最大等待数
+	 */
+	int getMaxPending();
+
+	/**
+	 * @return 当前并发数
+	 */
+	int getRunningCnt();
+
+	/**
+	 * @return 当前等待数
+	 */
+	int getPendingCnt();
+
+	/**
+	 * @return 并发饱和度(当前并发数 / 最大并发数)
+	 */
+	double getSaturation();
+
+	/**
+	 * @return 直接进入线程池的任务数
+	 */
+	long getAdmittedCnt();
+
+	/**
+	 * @return 进入隔离舱等待的任务数
+	 */
+	long getQueuedCnt();
+
+	/**
+	 * @return 隔离舱已满被拒绝的任务数(含提交线程执行)
+	 */
+	long getRejectedCnt();
+
+	/**
+	 * @return 隔离舱已满由提交线程执行的任务数
+	 */
+	long getCallerRunsCnt();
+}
@@ -0,0 +1,40 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 业务隔离舱已满(并发与等待队列均已占满)时的拒绝方式
+ *
+ * @author Phray
+ * @Version BulkheadRejectEnum.java, v 0.1 2026-10-17 20:40 Sccc Exp $
+ */
+@Getter
+@AllArgsConstructor
+public enum BulkheadRejectEnum {
+
+	/**
+	 * 抛出{@link phray.sccc.own.exception.BizException}，未提交的任务不再执行
+	 */
+	ABORT("ABORT", "拒绝并抛出异常"),
+
+	/**
+	 * 在提交线程上直接执行，自然降低该业务的提交速度
+	 */
+	CALLER_RUNS("CALLER_RUNS", "提交线程执行"),
+	;
+
+	/**
+	 * 标识码
+	 */
+	private final String code;
+
+	/**
+	 * 描述
+	 */
+	private final String desc;
+}
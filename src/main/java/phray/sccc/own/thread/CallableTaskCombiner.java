@@ -0,0 +1,35 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+/**
+ * Callable多任务结果并行合并接口，部分结果在线程池内两两合并(树形归约)，调用方只拿到最终结果
+ * <p>
+ * 合并顺序取决于任务完成顺序，因此{@link #combine(Object, Object)}需满足结合律与交换律
+ * (如Map/Set/计数的合并)，且不能依赖调用线程的状态
+ * </p>
+ *
+ * @author Phray
+ * @Version CallableTaskCombiner.java, v 0.1 2026-10-17 11:05 Sccc Exp $
+ * @see CallableTaskProcessService
+ */
+public interface CallableTaskCombiner<R> {
+
+	/**
+	 * 空结果(任务列表为空时返回)
+	 *
+	 * @return empty result
+	 */
+	R empty();
+
+	/**
+	 * 合并两个部分结果，可直接复用入参对象并返回
+	 *
+	 * @param left  部分结果
+	 * @param right 部分结果
+	 * @return 合并后的结果
+	 */
+	R combine(R left, R right);
+}
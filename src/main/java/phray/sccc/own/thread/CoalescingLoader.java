@@ -0,0 +1,210 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.commons.collections4.MapUtils;
+import phray.sccc.own.exception.BizException;
+import phray.sccc.own.exception.ErrorCodeEnum;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 请求合并加载器：将时间窗口/数量窗口内到达的单key请求合并为一次批量调用，在线程池内执行后按key分发结果
+ * <p>
+ * 请求进入无锁队列；攒满maxBatchSize时由提交线程立即触发执行，否则由窗口内首个请求设置的定时器在maxWaitMillis后触发。
+ * 批量函数返回的Map中不存在的key结果为null；批量函数异常时本批全部请求以该异常完成
+ * </p>
+ * <p>
+ * 批任务以不内联方式提交(见{@link MonitoredThreadPoolExecutor#executeNoInline(Runnable)})，
+ * 批量函数不会在调度线程或提交线程上执行；线程池饱和被拒绝时本批全部请求以{@link ErrorCodeEnum#THREAD_POOL_BUSY}异常完成
+ * </p>
+ *
+ * @param <K> key类型
+ * @param <V> 结果类型
+ * @author Phray
+ * @Version CoalescingLoader.java, v 0.1 2026-10-17 23:20 Sccc Exp $
+ * @see ThreadPoolHelper#newCoalescingLoader(String, ThreadPoolEnum, CoalescingOptions, Function)
+ */
+public class CoalescingLoader<K, V> {
+
+	private final String bizName;
+
+	private final MonitoredThreadPoolExecutor executor;
+
+	private final CoalescingOptions options;
+
+	private final Function<List<K>, Map<K, V>> batchLoader;
+
+	private final Queue<Request<K, V>> pending = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger pendingCnt = new AtomicInteger();
+
+	/**
+	 * 当前窗口的定时器是否已设置
+	 */
+	private final AtomicBoolean timerArmed = new AtomicBoolean();
+
+	private final LongAdder requestCnt = new LongAdder();
+
+	private final LongAdder batchCnt = new LongAdder();
+
+	private final LongAdder loadedKeyCnt = new LongAdder();
+
+	CoalescingLoader(String bizName, MonitoredThreadPoolExecutor executor, CoalescingOptions options,
+					 Function<List<K>, Map<K, V>> batchLoader) {
+		this.bizName = bizName;
+		this.executor = executor;
+		this.options = options;
+		this.batchLoader = batchLoader;
+	}
+
+	/**
+	 * 加载单个key，结果在所在批次执行完成后返回
+	 *
+	 * @param key key
+	 * @return CompletableFuture
+	 */
+	public CompletableFuture<V> load(K key) {
+		Request<K, V> request = new Request<>(key);
+		requestCnt.increment();
+		pending.offer(request);
+		if (pendingCnt.incrementAndGet() >= options.getMaxBatchSize()) {
+			flush();
+		}
+		// 仍有未执行的请求时保证当前窗口有定时器
+		if (pendingCnt.get() > 0 && timerArmed.compareAndSet(false, true)) {
+			HelperScheduler.schedule(this::onTimer, options.getMaxWaitMillis(), TimeUnit.MILLISECONDS);
+		}
+		return request.future;
+	}
+
+	/**
+	 * @return 累计请求数
+	 */
+	public long getRequestCnt() {
+		return requestCnt.sum();
+	}
+
+	/**
+	 * @return 累计批量调用次数
+	 */
+	public long getBatchCnt() {
+		return batchCnt.sum();
+	}
+
+	/**
+	 * @return 累计传给批量函数的key数(去重后)
+	 */
+	public long getLoadedKeyCnt() {
+		return loadedKeyCnt.sum();
+	}
+
+	private void onTimer() {
+		timerArmed.set(false);
+		flush();
+		if (pendingCnt.get() > 0 && timerArmed.compareAndSet(false, true)) {
+			HelperScheduler.schedule(this::onTimer, options.getMaxWaitMillis(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * 取出至多maxBatchSize个请求提交为一个批任务，并发调用时各自取出不同的请求；
+	 * 提交被拒绝时已取出的请求没有其他线程会处理，在这里异常完成
+	 */
+	private void flush() {
+		List<Request<K, V>> batch = Lists.newArrayListWithCapacity(options.getMaxBatchSize());
+		Request<K, V> request;
+		while (batch.size() < options.getMaxBatchSize() && (request = pending.poll()) != null) {
+			pendingCnt.decrementAndGet();
+			batch.add(request);
+		}
+		if (batch.isEmpty()) {
+			return;
+		}
+		batchCnt.increment();
+		try {
+			executor.executeNoInline(new JobFutureTask<>(new BatchCall(batch)));
+		} catch (RejectedExecutionException e) {
+			batchCnt.decrement();
+			BizException busy = new BizException(ErrorCodeEnum.THREAD_POOL_BUSY, e, "合并加载[%s]批任务提交被拒绝, thread_pool: [%s]",
+					bizName, executor.getThreadPoolEnum().getCode());
+			for (Request<K, V> rejected : batch) {
+				rejected.future.completeExceptionally(busy);
+			}
+		}
+	}
+
+	/**
+	 * 单次批量调用
+	 */
+	private final class BatchCall extends BaseInnerCall<Void> {
+
+		private final List<Request<K, V>> batch;
+
+		private BatchCall(List<Request<K, V>> batch) {
+			super(bizName);
+			this.batch = batch;
+		}
+
+		@Override
+		protected Void doCall() {
+			List<K> keys = Lists.newArrayListWithCapacity(batch.size());
+			if (options.isDedup()) {
+				Map<K, Boolean> seen = Maps.newLinkedHashMap();
+				for (Request<K, V> request : batch) {
+					if (seen.put(request.key, Boolean.TRUE) == null) {
+						keys.add(request.key);
+					}
+				}
+			} else {
+				for (Request<K, V> request : batch) {
+					keys.add(request.key);
+				}
+			}
+			loadedKeyCnt.add(keys.size());
+
+			Map<K, V> result;
+			try {
+				result = batchLoader.apply(Collections.unmodifiableList(keys));
+			} catch (RuntimeException e) {
+				for (Request<K, V> request : batch) {
+					request.future.completeExceptionally(e);
+				}
+				throw e;
+			}
+			for (Request<K, V> request : batch) {
+				request.future.complete(MapUtils.isEmpty(result) ? null : result.get(request.key));
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * 单个请求
+	 */
+	private static final class Request<K, V> {
+
+		private final K key;
+
+		private final CompletableFuture<V> future = new CompletableFuture<>();
+
+		private Request(K key) {
+			this.key = key;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 请求合并选项
+ *
+ * @author Phray
+ * @Version CoalescingOptions.java, v 0.1 2026-10-17 23:10 Sccc Exp $
+ * @see CoalescingLoader
+ */
+@Getter
+@Builder
+@ToString
+public class CoalescingOptions {
+
+	/**
+	 * 单批最大请求数，攒满立即执行
+	 */
+	@Builder.Default
+	private final int maxBatchSize = 100;
+
+	/**
+	 * 攒批等待窗口(ms)：窗口内首个请求到达后最多等待该时间即执行
+	 */
+	@Builder.Default
+	private final long maxWaitMillis = 5L;
+
+	/**
+	 * 同一批内相同key只查询一次，结果分发给全部请求方
+	 */
+	@Builder.Default
+	private final boolean dedup = true;
+
+	/**
+	 * 默认选项
+	 *
+	 * @return 默认选项
+	 */
+	public static CoalescingOptions defaults() {
+		return CoalescingOptions.builder().build();
+	}
+}
@@ -0,0 +1,204 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import org.apache.commons.collections4.MapUtils;
+import org.slf4j.MDC;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 线程上下文快照(不可变)：MDC与已注册的ThreadLocal，每批次在提交线程捕获一次，由批内全部任务共享
+ * <p>
+ * 任务开始时{@link #attach()}到执行线程，结束时{@link Scope#close()}恢复执行线程原有的上下文(而非清空)，
+ * 因此CallerRuns在提交线程执行任务后，提交线程自身的上下文不受影响
+ * </p>
+ * <p>
+ * attach不复制执行线程原有的MDC：线程上已有快照时恢复为该快照；本工具的工作线程在任务之间没有MDC，恢复即清空；
+ * 仅在其他线程(如CallerRuns时的提交线程)上执行时才复制一次原有MDC
+ * </p>
+ *
+ * @author Phray
+ * @Version ContextSnapshot.java, v 0.1 2026-10-17 21:30 Sccc Exp $
+ */
+public final class ContextSnapshot {
+
+	/**
+	 * 需要随任务传递的ThreadLocal(如租户、登录信息)
+	 */
+	private static final List<ThreadLocal<Object>> REGISTERED = new CopyOnWriteArrayList<>();
+
+	/**
+	 * 空快照：无MDC且无已注册的ThreadLocal
+	 */
+	private static final ContextSnapshot EMPTY = new ContextSnapshot(null, new ThreadLocal<?>[0], new Object[0]);
+
+	/**
+	 * 执行线程原本无上下文时共用的恢复动作：直接清空MDC
+	 */
+	private static final Scope CLEAR_SCOPE = new Scope(null, null, null, null);
+
+	/**
+	 * 线程上已是同一快照时的恢复动作：不做任何变更
+	 */
+	private static final Scope NOOP_SCOPE = new Scope(null, null, null, null);
+
+	/**
+	 * 当前线程已attach的快照，用于嵌套attach时直接恢复而无需复制MDC
+	 */
+	private static final ThreadLocal<ContextSnapshot> ATTACHED = new ThreadLocal<>();
+
+	private final Map<String, String> mdc;
+
+	private final ThreadLocal<?>[] threadLocals;
+
+	private final Object[] values;
+
+	private ContextSnapshot(Map<String, String> mdc, ThreadLocal<?>[] threadLocals, Object[] values) {
+		this.mdc = mdc;
+		this.threadLocals = threadLocals;
+		this.values = values;
+	}
+
+	/**
+	 * 注册需要随任务传递的ThreadLocal，通常在应用启动时调用
+	 *
+	 * @param threadLocal ThreadLocal
+	 */
+	@SuppressWarnings("unchecked")
+	public static void register(ThreadLocal<?> threadLocal) {
+		if (Objects.nonNull(threadLocal) && !REGISTERED.contains(threadLocal)) {
+			REGISTERED.add((ThreadLocal<Object>) threadLocal);
+		}
+	}
+
+	/**
+	 * 捕获当前线程的上下文
+	 *
+	 * @return 上下文快照
+	 */
+	public static ContextSnapshot capture() {
+		Map<String, String> mdc = MDC.getCopyOfContextMap();
+		ThreadLocal<?>[] threadLocals = REGISTERED.toArray(new ThreadLocal<?>[0]);
+		if (MapUtils.isEmpty(mdc) && threadLocals.length == 0) {
+			return EMPTY;
+		}
+		Object[] values = new Object[threadLocals.length];
+		for (int i = 0; i < threadLocals.length; i++) {
+			values[i] = threadLocals[i].get();
+		}
+		return new ContextSnapshot(MapUtils.isEmpty(mdc) ? null : Collections.unmodifiableMap(mdc),
+				threadLocals, values);
+	}
+
+	/**
+	 * @return MDC快照(只读)，无MDC时为null
+	 */
+	public Map<String, String> getMdc() {
+		return mdc;
+	}
+
+	/**
+	 * 将快照设置到当前线程，返回恢复当前线程原有上下文的Scope
+	 *
+	 * @return Scope
+	 */
+	@SuppressWarnings("unchecked")
+	public Scope attach() {
+		ContextSnapshot previous = ATTACHED.get();
+		if (previous == this) {
+			// 同一快照嵌套(如批内任务在同批任务的线程上执行)，上下文无需变化
+			return NOOP_SCOPE;
+		}
+		Map<String, String> previousMdc;
+		if (Objects.nonNull(previous)) {
+			previousMdc = previous.mdc;
+		} else if (MonitoredThreadPoolExecutor.isWorkerThread()) {
+			// 工作线程每个任务结束时都会恢复为空，无需复制
+			previousMdc = null;
+		} else {
+			previousMdc = MDC.getCopyOfContextMap();
+		}
+		ATTACHED.set(this);
+		Object[] previousValues = null;
+		if (threadLocals.length > 0) {
+			previousValues = new Object[threadLocals.length];
+			for (int i = 0; i < threadLocals.length; i++) {
+				ThreadLocal<Object> threadLocal = (ThreadLocal<Object>) threadLocals[i];
+				previousValues[i] = threadLocal.get();
+				set(threadLocal, values[i]);
+			}
+		}
+		if (Objects.nonNull(mdc)) {
+			MDC.setContextMap(mdc);
+		} else if (MapUtils.isNotEmpty(previousMdc)) {
+			MDC.clear();
+		}
+		if (Objects.isNull(previous) && MapUtils.isEmpty(previousMdc) && Objects.isNull(previousValues)) {
+			return CLEAR_SCOPE;
+		}
+		return new Scope(previous, previousMdc, threadLocals, previousValues);
+	}
+
+	private static void set(ThreadLocal<Object> threadLocal, Object value) {
+		if (Objects.isNull(value)) {
+			threadLocal.remove();
+		} else {
+			threadLocal.set(value);
+		}
+	}
+
+	/**
+	 * 上下文作用域，关闭时恢复attach之前的上下文
+	 */
+	public static final class Scope implements AutoCloseable {
+
+		/**
+		 * attach之前线程上的快照，无时为null
+		 */
+		private final ContextSnapshot previous;
+
+		private final Map<String, String> previousMdc;
+
+		private final ThreadLocal<?>[] threadLocals;
+
+		private final Object[] previousValues;
+
+		private Scope(ContextSnapshot previous, Map<String, String> previousMdc, ThreadLocal<?>[] threadLocals,
+					  Object[] previousValues) {
+			this.previous = previous;
+			this.previousMdc = previousMdc;
+			this.threadLocals = threadLocals;
+			this.previousValues = previousValues;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void close() {
+			if (this == NOOP_SCOPE) {
+				return;
+			}
+			if (Objects.isNull(previous)) {
+				ATTACHED.remove();
+			} else {
+				ATTACHED.set(previous);
+			}
+			if (MapUtils.isEmpty(previousMdc)) {
+				MDC.clear();
+			} else {
+				MDC.setContextMap(previousMdc);
+			}
+			if (Objects.nonNull(previousValues)) {
+				for (int i = 0; i < threadLocals.length; i++) {
+					set((ThreadLocal<Object>) threadLocals[i], previousValues[i]);
+				}
+			}
+		}
+	}
+}
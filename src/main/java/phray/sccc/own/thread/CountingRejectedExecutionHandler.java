@@ -0,0 +1,49 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 拒绝策略包装，统计拒绝次数与CallerRuns兜底次数后委托给原拒绝策略(CallerRuns由线程池代为执行以计入执行统计)；
+ * 不允许内联执行的任务(见{@link MonitoredThreadPoolExecutor#executeNoInline})直接抛出{@link RejectedExecutionException}
+ *
+ * @author Phray
+ * @Version CountingRejectedExecutionHandler.java, v 0.1 2026-10-17 14:52 Sccc Exp $
+ */
+final class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+	private final RejectedExecutionHandler delegate;
+
+	private final ThreadPoolMetrics metrics;
+
+	CountingRejectedExecutionHandler(RejectedExecutionHandler delegate, ThreadPoolMetrics metrics) {
+		this.delegate = delegate;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+		if (r instanceof TrackedTask && !((TrackedTask) r).isInlineAllowed()) {
+			metrics.recordRejected(false);
+			((TrackedTask) r).releasePermit();
+			throw new RejectedExecutionException("Task " + r + " rejected from " + executor);
+		}
+		boolean callerRuns = delegate instanceof ThreadPoolExecutor.CallerRunsPolicy && !executor.isShutdown();
+		metrics.recordRejected(callerRuns);
+		if (!callerRuns && r instanceof TrackedTask) {
+			// 任务不会再执行，归还在途许可
+			((TrackedTask) r).releasePermit();
+		}
+		if (callerRuns && r instanceof TrackedTask && executor instanceof MonitoredThreadPoolExecutor) {
+			// 与CallerRunsPolicy一致在提交线程上执行，同时计入执行统计
+			((MonitoredThreadPoolExecutor) executor).runCallerRuns((TrackedTask) r);
+			return;
+		}
+		delegate.rejectedExecution(r, executor);
+	}
+}
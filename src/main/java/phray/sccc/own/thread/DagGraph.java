@@ -0,0 +1,206 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.commons.collections4.CollectionUtils;
+import phray.sccc.own.exception.BizException;
+import phray.sccc.own.exception.ErrorCodeEnum;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ExecContext}依赖图：校验节点名唯一、依赖存在且无环，记录每个节点未完成的上游数
+ *
+ * @author Phray
+ * @Version DagGraph.java, v 0.1 2026-10-17 22:20 Sccc Exp $
+ * @see ThreadPoolHelper#doExecuteGraph(List, ThreadPoolEnum, String, Object, Object, BatchOptions)
+ */
+final class DagGraph<Req, Resp> {
+
+	private final List<Node<Req, Resp>> nodes;
+
+	DagGraph(List<ExecContext<Req, Resp>> execList) {
+		Map<String, Node<Req, Resp>> byName = Maps.newLinkedHashMap();
+		for (ExecContext<Req, Resp> context : execList) {
+			if (Objects.nonNull(byName.put(context.getBizName(), new Node<>(context)))) {
+				throw new BizException(ErrorCodeEnum.ILLEGAL_ARGUMENT, "依赖图节点名重复: [%s]", context.getBizName());
+			}
+		}
+		for (Node<Req, Resp> node : byName.values()) {
+			if (CollectionUtils.isEmpty(node.context.getDependsOn())) {
+				continue;
+			}
+			for (String upstreamName : node.context.getDependsOn()) {
+				Node<Req, Resp> upstream = byName.get(upstreamName);
+				if (Objects.isNull(upstream)) {
+					throw new BizException(ErrorCodeEnum.ILLEGAL_ARGUMENT, "依赖图节点: [%s] 的上游: [%s] 不存在",
+							node.getName(), upstreamName);
+				}
+				node.upstream.add(upstream);
+				upstream.downstream.add(node);
+			}
+			node.pendingUpstream.set(node.upstream.size());
+		}
+		this.nodes = Collections.unmodifiableList(Lists.newArrayList(byName.values()));
+		checkAcyclic();
+	}
+
+	List<Node<Req, Resp>> getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * @return 无上游依赖的起始节点
+	 */
+	List<Node<Req, Resp>> roots() {
+		List<Node<Req, Resp>> roots = Lists.newArrayList();
+		for (Node<Req, Resp> node : nodes) {
+			if (node.upstream.isEmpty()) {
+				roots.add(node);
+			}
+		}
+		return roots;
+	}
+
+	/**
+	 * 拓扑排序(Kahn)能覆盖全部节点即无环
+	 */
+	private void checkAcyclic() {
+		Map<Node<Req, Resp>, Integer> inDegree = Maps.newIdentityHashMap();
+		Deque<Node<Req, Resp>> ready = new ArrayDeque<>();
+		for (Node<Req, Resp> node : nodes) {
+			inDegree.put(node, node.upstream.size());
+			if (node.upstream.isEmpty()) {
+				ready.add(node);
+			}
+		}
+		int visited = 0;
+		while (!ready.isEmpty()) {
+			Node<Req, Resp> node = ready.poll();
+			visited++;
+			for (Node<Req, Resp> downstream : node.downstream) {
+				if (inDegree.merge(downstream, -1, Integer::sum) == 0) {
+					ready.add(downstream);
+				}
+			}
+		}
+		if (visited != nodes.size()) {
+			throw new BizException(ErrorCodeEnum.ILLEGAL_ARGUMENT, "依赖图存在环, 可执行节点数: [%d], 节点总数: [%d]",
+					visited, nodes.size());
+		}
+	}
+
+	/**
+	 * 根据各节点任务上记录的时间戳生成摘要
+	 *
+	 * @param bizName    业务名
+	 * @param beginNanos 整图开始时间(System.nanoTime)
+	 * @return 摘要
+	 */
+	DagSummary summary(String bizName, long beginNanos) {
+		List<DagSummary.NodeTiming> timings = Lists.newArrayListWithCapacity(nodes.size());
+		Node<Req, Resp> last = null;
+		for (Node<Req, Resp> node : nodes) {
+			BaseJob task = node.task;
+			boolean finished = task.getStartNanos() != 0L && task.getEndNanos() != 0L;
+			timings.add(new DagSummary.NodeTiming(node.getName(),
+					finished ? toMillis(task.getSubmitNanos() - beginNanos) : 0D,
+					finished ? toMillis(task.getStartNanos() - task.getSubmitNanos()) : 0D,
+					finished ? toMillis(task.getEndNanos() - task.getStartNanos()) : 0D,
+					finished ? toMillis(task.getEndNanos() - beginNanos) : 0D));
+			if (finished && (Objects.isNull(last) || task.getEndNanos() - last.task.getEndNanos() > 0)) {
+				last = node;
+			}
+		}
+
+		// 从最晚结束的节点沿最晚结束的上游回溯
+		List<String> criticalPath = Lists.newArrayList();
+		long criticalRunNanos = 0L;
+		for (Node<Req, Resp> node = last; Objects.nonNull(node); node = node.latestUpstream()) {
+			criticalPath.add(node.getName());
+			criticalRunNanos += node.task.getEndNanos() - node.task.getStartNanos();
+		}
+		Collections.reverse(criticalPath);
+		return new DagSummary(bizName, toMillis(System.nanoTime() - beginNanos), timings, criticalPath,
+				toMillis(criticalRunNanos));
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000D;
+	}
+
+	/**
+	 * 依赖图节点
+	 */
+	static final class Node<Req, Resp> {
+
+		private final ExecContext<Req, Resp> context;
+
+		private final List<Node<Req, Resp>> upstream = Lists.newArrayList();
+
+		private final List<Node<Req, Resp>> downstream = Lists.newArrayList();
+
+		/**
+		 * 未完成的上游数，减到0时节点就绪
+		 */
+		private final AtomicInteger pendingUpstream = new AtomicInteger();
+
+		/**
+		 * 节点任务，提交前设置
+		 */
+		private BaseInnerRun task;
+
+		private Node(ExecContext<Req, Resp> context) {
+			this.context = context;
+		}
+
+		String getName() {
+			return context.getBizName();
+		}
+
+		ExecContext<Req, Resp> getContext() {
+			return context;
+		}
+
+		List<Node<Req, Resp>> getDownstream() {
+			return downstream;
+		}
+
+		BaseInnerRun getTask() {
+			return task;
+		}
+
+		void setTask(BaseInnerRun task) {
+			this.task = task;
+		}
+
+		/**
+		 * 上游完成一个
+		 *
+		 * @return true: 全部上游已完成，节点就绪
+		 */
+		boolean upstreamDone() {
+			return pendingUpstream.decrementAndGet() == 0;
+		}
+
+		private Node<Req, Resp> latestUpstream() {
+			Node<Req, Resp> latest = null;
+			for (Node<Req, Resp> node : upstream) {
+				if (Objects.isNull(latest) || node.task.getEndNanos() - latest.task.getEndNanos() > 0) {
+					latest = node;
+				}
+			}
+			return latest;
+		}
+	}
+}
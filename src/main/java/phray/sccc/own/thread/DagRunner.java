@@ -0,0 +1,144 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 依赖图的一次执行：节点完成(生命周期全部结束)后再提交已就绪的下游节点，
+ * 下游提交失败按整图失败处理，不计为上游节点的失败
+ * <p>
+ * 就绪节点同时放入就绪队列，调用方为工作线程(嵌套执行)时从队列领取节点在当前线程执行，
+ * 后续才就绪的节点同样可被领取，避免工作线程全部阻塞等待而节点仍在队列中
+ * </p>
+ *
+ * @author Phray
+ * @Version DagRunner.java, v 0.1 2026-10-18 12:40 Sccc Exp $
+ * @see ThreadPoolHelper#doExecuteGraph(java.util.List, ThreadPoolEnum, String, Object, Object, BatchOptions)
+ */
+final class DagRunner<Req, Resp> {
+
+	/**
+	 * 唤醒领取节点的调用方(整图结束或失败)
+	 */
+	private static final Runnable WAKE_UP = () -> {
+	};
+
+	private final DagGraph<Req, Resp> graph;
+
+	/**
+	 * 提交入口(隔离舱/背压/线程池)
+	 */
+	private final Consumer<Runnable> dispatcher;
+
+	private final CountDownLatch innerLatch;
+
+	private final AtomicBoolean errorFlag;
+
+	private final AtomicReference<RuntimeException> errorRef;
+
+	private final Queue<Future<?>> futures = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * 已提交的节点，供嵌套调用方领取
+	 */
+	private final BlockingQueue<Runnable> ready = new LinkedBlockingQueue<>();
+
+	DagRunner(DagGraph<Req, Resp> graph, Consumer<Runnable> dispatcher, CountDownLatch innerLatch,
+			  AtomicBoolean errorFlag, AtomicReference<RuntimeException> errorRef) {
+		this.graph = graph;
+		this.dispatcher = dispatcher;
+		this.innerLatch = innerLatch;
+		this.errorFlag = errorFlag;
+		this.errorRef = errorRef;
+	}
+
+	/**
+	 * 提交起始节点
+	 *
+	 * @throws RuntimeException 提交被拒绝(隔离舱已满、背压超时等)
+	 */
+	void start() {
+		for (DagGraph.Node<Req, Resp> root : graph.roots()) {
+			submit(root);
+		}
+	}
+
+	Queue<Future<?>> getFutures() {
+		return futures;
+	}
+
+	/**
+	 * 嵌套执行时在当前线程领取就绪节点，直到整图结束、失败或截止时间到达
+	 *
+	 * @param deadline 截止时间(可空)
+	 */
+	void help(Deadline deadline) throws InterruptedException {
+		while (innerLatch.getCount() > 0 && !errorFlag.get()) {
+			Runnable node = Objects.isNull(deadline) ? ready.take()
+					: ready.poll(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+			if (Objects.isNull(node)) {
+				return;
+			}
+			node.run();
+		}
+	}
+
+	/**
+	 * 提交就绪节点，提交时间即就绪时间
+	 */
+	private void submit(DagGraph.Node<Req, Resp> node) {
+		BaseInnerRun task = node.getTask();
+		task.setSubmitNanos(System.nanoTime());
+		JobFutureTask<?> future = new JobFutureTask<>(task, null);
+		future.onDone(() -> onNodeDone(node, future));
+		futures.add(future);
+		dispatcher.accept(future);
+		ready.add(future);
+	}
+
+	/**
+	 * 节点结束(FutureTask完成回调，此时节点生命周期已结束)：成功时提交已就绪的下游节点
+	 */
+	private void onNodeDone(DagGraph.Node<Req, Resp> node, JobFutureTask<?> future) {
+		if (!future.isCancelled() && !node.getTask().isFailed() && !errorFlag.get()) {
+			for (DagGraph.Node<Req, Resp> downstream : node.getDownstream()) {
+				if (!downstream.upstreamDone() || errorFlag.get()) {
+					continue;
+				}
+				try {
+					submit(downstream);
+				} catch (RuntimeException e) {
+					fail(e);
+					break;
+				}
+			}
+		}
+		if (innerLatch.getCount() == 0 || errorFlag.get()) {
+			ready.add(WAKE_UP);
+		}
+	}
+
+	/**
+	 * 下游提交失败：整图失败，释放发令枪
+	 */
+	private void fail(RuntimeException e) {
+		errorRef.compareAndSet(null, e);
+		errorFlag.set(true);
+		while (innerLatch.getCount() > 0) {
+			innerLatch.countDown();
+		}
+	}
+}
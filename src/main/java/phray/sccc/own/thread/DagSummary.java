@@ -0,0 +1,82 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 依赖图执行摘要：各节点耗时与关键路径，单位: ms
+ *
+ * @author Phray
+ * @Version DagSummary.java, v 0.1 2026-10-17 22:10 Sccc Exp $
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DagSummary {
+
+	/**
+	 * 业务名
+	 */
+	private final String bizName;
+
+	/**
+	 * 整图耗时
+	 */
+	private final double elapsedMillis;
+
+	/**
+	 * 各节点耗时(按声明顺序)
+	 */
+	private final List<NodeTiming> nodes;
+
+	/**
+	 * 关键路径(从起始节点到最晚结束节点，沿最晚完成的上游回溯)
+	 */
+	private final List<String> criticalPath;
+
+	/**
+	 * 关键路径上各节点执行耗时之和，与整图耗时的差值即调度与排队开销
+	 */
+	private final double criticalPathRunMillis;
+
+	/**
+	 * 单个节点耗时
+	 */
+	@Getter
+	@ToString
+	@AllArgsConstructor
+	public static class NodeTiming {
+
+		/**
+		 * 节点名(bizName)
+		 */
+		private final String name;
+
+		/**
+		 * 就绪时间(上游全部完成，相对整图开始)，未执行时为0
+		 */
+		private final double readyAtMillis;
+
+		/**
+		 * 排队耗时(就绪->开始)，未执行时为0
+		 */
+		private final double waitMillis;
+
+		/**
+		 * 执行耗时(开始->结束)，未执行时为0
+		 */
+		private final double runMillis;
+
+		/**
+		 * 结束时间(相对整图开始)，未执行时为0
+		 */
+		private final double endAtMillis;
+	}
+}
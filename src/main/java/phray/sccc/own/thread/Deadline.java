@@ -0,0 +1,77 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.ToString;
+import phray.sccc.own.exception.BizException;
+import phray.sccc.own.exception.ErrorCodeEnum;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批次截止时间(绝对时间，基于System.nanoTime)，整批任务共用一个
+ * <p>
+ * 任务可通过{@link BaseJob#getDeadline()}获取剩余时间，用于设置下游调用超时，
+ * 或在截止时间已过时放弃后续的下游调用
+ * </p>
+ *
+ * @author Phray
+ * @Version Deadline.java, v 0.1 2026-10-17 18:30 Sccc Exp $
+ */
+@ToString
+public final class Deadline {
+
+	private final long deadlineNanos;
+
+	private Deadline(long deadlineNanos) {
+		this.deadlineNanos = deadlineNanos;
+	}
+
+	/**
+	 * 从当前时间起计算截止时间
+	 *
+	 * @param timeout 超时时间
+	 * @param unit    时间单位
+	 * @return 截止时间
+	 */
+	public static Deadline after(long timeout, TimeUnit unit) {
+		return new Deadline(System.nanoTime() + unit.toNanos(timeout));
+	}
+
+	/**
+	 * @return 剩余时间(ns)，已过期时为0
+	 */
+	public long remainingNanos() {
+		return Math.max(0L, deadlineNanos - System.nanoTime());
+	}
+
+	/**
+	 * 剩余时间
+	 *
+	 * @param unit 时间单位
+	 * @return 剩余时间，已过期时为0
+	 */
+	public long remaining(TimeUnit unit) {
+		return unit.convert(remainingNanos(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @return 是否已过截止时间
+	 */
+	public boolean isExpired() {
+		return deadlineNanos - System.nanoTime() <= 0;
+	}
+
+	/**
+	 * 已过截止时间时抛出{@link BizException}
+	 *
+	 * @param desc 任务描述
+	 */
+	public void checkNotExpired(String desc) {
+		if (isExpired()) {
+			throw new BizException(ErrorCodeEnum.TASK_DEADLINE_EXCEEDED, "任务: [%s] 已超过批次截止时间", desc);
+		}
+	}
+}
@@ -3,6 +3,7 @@ package phray.sccc.own.thread;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.List;
 import java.util.function.BiConsumer;
 
 /**
@@ -19,4 +20,11 @@ public class ExecContext<Req, Resp> {
 
     private BiConsumer<Req, Resp> execFunc;
 
+    /**
+     * 上游节点的bizName(可空)，仅在按依赖图执行时生效：上游全部完成后才执行本节点
+     *
+     * @see ThreadPoolHelper#doExecuteGraph(List, ThreadPoolEnum, String, Object, Object)
+     */
+    private List<String> dependsOn;
+
 }
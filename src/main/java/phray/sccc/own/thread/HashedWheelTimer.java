@@ -0,0 +1,311 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.extern.slf4j.Slf4j;
+import phray.sccc.own.log.LoggerUtil;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 时间轮定时器：单个守护线程按固定刻度推进，大量待触发定时任务的登记/取消均为O(1)，适合超时、延迟重试等精度要求为刻度级别的场景
+ * <p>
+ * 实现 -
+ * 登记与取消只写入无锁队列，由时间轮线程在每个刻度统一转入/移出槽位，槽位链表只由时间轮线程访问，无需加锁；
+ * 超过一圈的定时任务记录剩余圈数，每次经过所在槽位时递减
+ * </p>
+ * 定时任务在时间轮线程上执行，不允许阻塞，较重的处理需再提交到线程池
+ *
+ * @author Phray
+ * @Version HashedWheelTimer.java, v 0.1 2026-10-17 23:40 Sccc Exp $
+ * @see HelperScheduler#newTimeout(Runnable, long, TimeUnit)
+ */
+@Slf4j
+final class HashedWheelTimer {
+
+	/**
+	 * 每个刻度最多转入的新定时任务数，避免大量登记时单个刻度耗时过长
+	 */
+	private static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+	private final String name;
+
+	private final long tickNanos;
+
+	private final Bucket[] wheel;
+
+	private final int mask;
+
+	private final Queue<Timeout> pendingAdds = new ConcurrentLinkedQueue<>();
+
+	private final Queue<Timeout> pendingCancels = new ConcurrentLinkedQueue<>();
+
+	private final AtomicLong pendingCnt = new AtomicLong();
+
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	/**
+	 * 时间轮启动时间(System.nanoTime)，定时任务的触发时间均相对该时间
+	 */
+	private volatile long startNanos;
+
+	/**
+	 * 当前刻度(仅由时间轮线程访问)
+	 */
+	private long tick;
+
+	/**
+	 * @param name         线程名
+	 * @param tickDuration 刻度时长
+	 * @param unit         刻度时间单位
+	 * @param wheelSize    槽位数，向上取整为2的幂
+	 */
+	HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int wheelSize) {
+		this.name = name;
+		this.tickNanos = Math.max(unit.toNanos(tickDuration), TimeUnit.MILLISECONDS.toNanos(1));
+		int size = Integer.highestOneBit(Math.max(wheelSize, 1) - 1) << 1;
+		this.wheel = new Bucket[Math.max(size, 1)];
+		for (int i = 0; i < wheel.length; i++) {
+			wheel[i] = new Bucket();
+		}
+		this.mask = wheel.length - 1;
+	}
+
+	/**
+	 * 登记定时任务，首次登记时启动时间轮线程
+	 *
+	 * @param task  定时任务(在时间轮线程上执行，不允许阻塞)
+	 * @param delay 延迟时间
+	 * @param unit  时间单位
+	 * @return 定时任务句柄，可取消
+	 */
+	Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+		start();
+		long deadline = System.nanoTime() + Math.max(unit.toNanos(delay), 0L) - startNanos;
+		Timeout timeout = new Timeout(task, deadline);
+		pendingCnt.incrementAndGet();
+		pendingAdds.offer(timeout);
+		return timeout;
+	}
+
+	/**
+	 * @return 尚未触发且未取消的定时任务数
+	 */
+	long pendingCnt() {
+		return pendingCnt.get();
+	}
+
+	private void start() {
+		if (started.get() || !started.compareAndSet(false, true)) {
+			while (startNanos == 0L) {
+				Thread.yield();
+			}
+			return;
+		}
+		Thread worker = new Thread(this::work, name);
+		worker.setDaemon(true);
+		startNanos = System.nanoTime();
+		worker.start();
+	}
+
+	private void work() {
+		while (true) {
+			long deadline = waitForNextTick();
+			removeCancelled();
+			transferPending();
+			Bucket bucket = wheel[(int) (tick & mask)];
+			bucket.expire(deadline);
+			tick++;
+		}
+	}
+
+	/**
+	 * 等待到下一个刻度
+	 *
+	 * @return 当前时间(相对启动时间)
+	 */
+	private long waitForNextTick() {
+		long deadline = tickNanos * (tick + 1);
+		while (true) {
+			long current = System.nanoTime() - startNanos;
+			long sleepNanos = deadline - current;
+			if (sleepNanos <= 0) {
+				return current;
+			}
+			LockSupport.parkNanos(this, sleepNanos);
+		}
+	}
+
+	private void removeCancelled() {
+		Timeout timeout;
+		while ((timeout = pendingCancels.poll()) != null) {
+			if (timeout.bucket != null) {
+				timeout.bucket.remove(timeout);
+			}
+		}
+	}
+
+	private void transferPending() {
+		for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+			Timeout timeout = pendingAdds.poll();
+			if (timeout == null) {
+				return;
+			}
+			if (timeout.state.get() != Timeout.INIT) {
+				continue;
+			}
+			long calculated = timeout.deadline / tickNanos;
+			timeout.remainingRounds = (calculated - tick) / wheel.length;
+			// 已过期的定时任务放入当前刻度，本轮即触发
+			long ticks = Math.max(calculated, tick);
+			wheel[(int) (ticks & mask)].add(timeout);
+		}
+	}
+
+	/**
+	 * 定时任务句柄
+	 */
+	final class Timeout {
+
+		private static final int INIT = 0;
+
+		private static final int CANCELLED = 1;
+
+		private static final int EXPIRED = 2;
+
+		private final Runnable task;
+
+		/**
+		 * 触发时间(相对时间轮启动时间)
+		 */
+		private final long deadline;
+
+		private final AtomicInteger state = new AtomicInteger(INIT);
+
+		/**
+		 * 以下字段仅由时间轮线程访问
+		 */
+		private long remainingRounds;
+
+		private Bucket bucket;
+
+		private Timeout prev;
+
+		private Timeout next;
+
+		private Timeout(Runnable task, long deadline) {
+			this.task = task;
+			this.deadline = deadline;
+		}
+
+		/**
+		 * 取消定时任务，已触发时无效果
+		 *
+		 * @return true: 本次取消成功
+		 */
+		boolean cancel() {
+			if (!state.compareAndSet(INIT, CANCELLED)) {
+				return false;
+			}
+			pendingCnt.decrementAndGet();
+			pendingCancels.offer(this);
+			return true;
+		}
+
+		boolean isCancelled() {
+			return state.get() == CANCELLED;
+		}
+
+		boolean isExpired() {
+			return state.get() == EXPIRED;
+		}
+
+		private void expire() {
+			if (!state.compareAndSet(INIT, EXPIRED)) {
+				return;
+			}
+			pendingCnt.decrementAndGet();
+			try {
+				task.run();
+			} catch (Throwable t) {
+				LoggerUtil.warn(log, t, "[%s]: 定时任务执行异常", name);
+			}
+		}
+	}
+
+	/**
+	 * 槽位：定时任务双向链表，仅由时间轮线程访问
+	 */
+	private static final class Bucket {
+
+		private Timeout head;
+
+		private Timeout tail;
+
+		private void add(Timeout timeout) {
+			timeout.bucket = this;
+			if (head == null) {
+				head = tail = timeout;
+			} else {
+				tail.next = timeout;
+				timeout.prev = tail;
+				tail = timeout;
+			}
+		}
+
+		/**
+		 * 触发本槽位中已到期的定时任务，其余定时任务剩余圈数减一
+		 *
+		 * @param deadline 当前时间(相对启动时间)
+		 */
+		private void expire(long deadline) {
+			Timeout timeout = head;
+			while (timeout != null) {
+				Timeout next = timeout.next;
+				if (timeout.remainingRounds <= 0) {
+					remove(timeout);
+					if (timeout.deadline <= deadline) {
+						timeout.expire();
+					} else {
+						LoggerUtil.warn(log, "定时任务被放入错误的槽位, deadline: [%d], now: [%d]",
+								timeout.deadline, deadline);
+					}
+				} else if (timeout.isCancelled()) {
+					remove(timeout);
+				} else {
+					timeout.remainingRounds--;
+				}
+				timeout = next;
+			}
+		}
+
+		private void remove(Timeout timeout) {
+			if (timeout.bucket != this) {
+				return;
+			}
+			if (timeout.prev != null) {
+				timeout.prev.next = timeout.next;
+			}
+			if (timeout.next != null) {
+				timeout.next.prev = timeout.prev;
+			}
+			if (timeout == head) {
+				head = timeout.next;
+			}
+			if (timeout == tail) {
+				tail = timeout.prev;
+			}
+			timeout.prev = null;
+			timeout.next = null;
+			timeout.bucket = null;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单批次对冲状态：批内耗时直方图、对冲预算，由共享调度线程触发对冲
+ *
+ * @author Phray
+ * @Version HedgeBatch.java, v 0.1 2026-10-17 19:20 Sccc Exp $
+ */
+final class HedgeBatch {
+
+	private final MonitoredThreadPoolExecutor executor;
+
+	private final HedgePolicy policy;
+
+	/**
+	 * 本批次任务耗时(从主执行开始到结果确定)
+	 */
+	private final LatencyHistogram latency = new LatencyHistogram();
+
+	/**
+	 * 剩余对冲次数
+	 */
+	private final AtomicInteger budget;
+
+	HedgeBatch(MonitoredThreadPoolExecutor executor, HedgePolicy policy, int taskCnt) {
+		this.executor = executor;
+		this.policy = policy;
+		this.budget = new AtomicInteger((int) Math.ceil(taskCnt * policy.getBudgetRatio()));
+	}
+
+	MonitoredThreadPoolExecutor getExecutor() {
+		return executor;
+	}
+
+	void recordLatency(long nanos) {
+		latency.record(nanos);
+	}
+
+	/**
+	 * 主执行开始时按触发时间设置定时器
+	 *
+	 * @param call 对冲任务
+	 */
+	void arm(HedgedCall<?> call) {
+		long triggerNanos = triggerNanos();
+		if (triggerNanos < 0) {
+			return;
+		}
+		call.setHedgeTimer(HelperScheduler.schedule(() -> onTimer(call), triggerNanos, TimeUnit.NANOSECONDS));
+	}
+
+	/**
+	 * 定时器到期：P95在等待期间被新样本抬高时按新的触发时间重新定时，否则在预算内发起对冲
+	 */
+	private void onTimer(HedgedCall<?> call) {
+		if (call.isDone()) {
+			return;
+		}
+		long elapsed = System.nanoTime() - call.getStartNanos();
+		long triggerNanos = triggerNanos();
+		if (triggerNanos > elapsed) {
+			call.setHedgeTimer(HelperScheduler.schedule(() -> onTimer(call), triggerNanos - elapsed,
+					TimeUnit.NANOSECONDS));
+			return;
+		}
+		// 线程池饱和时不对冲：饱和时对冲只会加重负载；此处仅为预判，提交时仍可能被拒绝
+		if (executor.isSaturated()) {
+			executor.getMetrics().recordHedgeSkipped();
+			return;
+		}
+		if (budget.getAndDecrement() <= 0) {
+			executor.getMetrics().recordHedgeSkipped();
+			return;
+		}
+		if (!call.launchHedge()) {
+			// 未发起(已有结果或线程池已满)，归还预算
+			budget.incrementAndGet();
+			executor.getMetrics().recordHedgeSkipped();
+		}
+	}
+
+	/**
+	 * @return 触发时间(ns)，<0表示不对冲
+	 */
+	private long triggerNanos() {
+		if (policy.isPercentileTrigger() && latency.getCount() >= policy.getMinSamples()) {
+			return (long) (latency.percentileMillis(0.95D) * 1_000_000L);
+		}
+		return policy.getDelayMillis() > 0 ? TimeUnit.MILLISECONDS.toNanos(policy.getDelayMillis()) : -1L;
+	}
+}
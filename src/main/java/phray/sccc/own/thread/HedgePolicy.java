@@ -0,0 +1,48 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 对冲执行策略：任务执行超过触发时间仍未完成时，再提交一次相同任务，先完成者胜出，另一次被取消
+ * <p>
+ * 仅适用于幂等的{@link BaseInnerCall}任务(对冲执行只调用doCall，任务会被执行两次)；
+ * 触发时间取固定延迟，或本批次已完成任务耗时的P95(样本不足时回退为固定延迟)
+ * </p>
+ *
+ * @author Phray
+ * @Version HedgePolicy.java, v 0.1 2026-10-17 19:10 Sccc Exp $
+ * @see BatchOptions#getHedgePolicy()
+ */
+@Getter
+@Builder
+@ToString
+public class HedgePolicy {
+
+	/**
+	 * 固定触发延迟(ms)；P95模式下为样本不足时的触发延迟，<=0表示样本不足时不对冲
+	 */
+	private final long delayMillis;
+
+	/**
+	 * 按本批次已完成任务耗时的P95触发
+	 */
+	private final boolean percentileTrigger;
+
+	/**
+	 * P95模式下的最少样本数
+	 */
+	@Builder.Default
+	private final int minSamples = 20;
+
+	/**
+	 * 对冲预算：单批次对冲次数占任务数的最大比例(向上取整)，用于限制额外负载
+	 */
+	@Builder.Default
+	private final double budgetRatio = 0.1D;
+}
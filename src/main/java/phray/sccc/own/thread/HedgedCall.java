@@ -0,0 +1,231 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import java.util.Objects;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 可对冲的Callable任务：主执行由线程池调度，超过触发时间后由{@link HedgeBatch}再提交一次对冲执行，
+ * 两次执行都只调用{@link BaseInnerCall#doCall()}，先完成者确定结果，另一次被取消(中断)
+ * <p>
+ * 任务生命周期(onBefore/onError/onEnd)只执行一次：onBefore在主执行开始时，onError/onEnd在结果确定时；
+ * 一次执行失败而另一次仍在运行时以另一次为准，两次都失败才记为失败
+ * </p>
+ *
+ * @author Phray
+ * @Version HedgedCall.java, v 0.1 2026-10-17 19:30 Sccc Exp $
+ */
+final class HedgedCall<R> extends JobFutureTask<R> {
+
+	private final BaseInnerCall<R> task;
+
+	private final HedgeBatch batch;
+
+	/**
+	 * 结果已确定
+	 */
+	private final AtomicBoolean settled = new AtomicBoolean();
+
+	/**
+	 * 运行中的执行次数
+	 */
+	private final AtomicInteger pendingAttempts = new AtomicInteger(1);
+
+	/**
+	 * 最近一次失败的执行异常，对冲未能发起时用于确定结果
+	 */
+	private volatile Exception lastError;
+
+	/**
+	 * 主执行线程，仅在执行doCall期间非空，读写需持有this锁
+	 */
+	private Thread primaryThread;
+
+	/**
+	 * 主执行线程是否被本任务中断
+	 */
+	private boolean primaryInterrupted;
+
+	private volatile ScheduledFuture<?> hedgeTimer;
+
+	private volatile Future<?> hedgeFuture;
+
+	/**
+	 * 结果由对冲执行确定(此时done()运行在对冲执行线程上，不取消对冲执行本身)
+	 */
+	private volatile boolean settledByHedge;
+
+	HedgedCall(BaseInnerCall<R> task, HedgeBatch batch) {
+		super(task);
+		this.task = task;
+		this.batch = batch;
+	}
+
+	long getStartNanos() {
+		return task.getStartNanos();
+	}
+
+	void setHedgeTimer(ScheduledFuture<?> hedgeTimer) {
+		this.hedgeTimer = hedgeTimer;
+		if (isDone()) {
+			hedgeTimer.cancel(false);
+		}
+	}
+
+	@Override
+	public void run() {
+		// 主执行只运行一次(线程池、嵌套调用方与超时处理竞争执行权)
+		if (isDone() || !claimRun()) {
+			return;
+		}
+		synchronized (this) {
+			primaryThread = Thread.currentThread();
+		}
+		try {
+			task.onBefore();
+			batch.arm(this);
+			onAttemptSucceeded(task.doCall(), false);
+		} catch (Exception e) {
+			onAttemptFailed(e, false);
+		} finally {
+			boolean interrupted;
+			synchronized (this) {
+				primaryThread = null;
+				interrupted = primaryInterrupted;
+			}
+			// 清除本任务发出的中断，避免影响工作线程执行下一个任务
+			if (interrupted) {
+				Thread.interrupted();
+			}
+			// 结果由对冲执行确定时onEnd不在本线程，这里恢复本线程的上下文
+			task.detachContext();
+		}
+	}
+
+	/**
+	 * 发起对冲执行(由调度线程调用)，不在调度线程上执行：线程池已满时放弃对冲
+	 *
+	 * @return true: 已提交对冲执行
+	 */
+	boolean launchHedge() {
+		if (settled.get()) {
+			return false;
+		}
+		pendingAttempts.incrementAndGet();
+		JobFutureTask<Void> hedge = new JobFutureTask<>(this::runHedge, null);
+		try {
+			batch.getExecutor().executeNoInline(hedge);
+		} catch (RejectedExecutionException e) {
+			onHedgeAbandoned();
+			return false;
+		}
+		hedgeFuture = hedge;
+		batch.getExecutor().getMetrics().recordHedgeLaunched();
+		if (isDone()) {
+			hedge.cancel(true);
+		}
+		return true;
+	}
+
+	/**
+	 * 对冲未能发起：撤销计入的执行次数，主执行在此期间已失败时由这里确定结果
+	 */
+	private void onHedgeAbandoned() {
+		if (pendingAttempts.decrementAndGet() == 0) {
+			settle(null, lastError, false);
+		}
+	}
+
+	private void runHedge() {
+		if (settled.get()) {
+			return;
+		}
+		ContextSnapshot.Scope scope = Objects.isNull(task.getContext()) ? null : task.getContext().attach();
+		try {
+			onAttemptSucceeded(task.doCall(), true);
+		} catch (Exception e) {
+			onAttemptFailed(e, true);
+		} finally {
+			if (Objects.nonNull(scope)) {
+				scope.close();
+			}
+		}
+	}
+
+	private void onAttemptSucceeded(R value, boolean hedged) {
+		pendingAttempts.decrementAndGet();
+		settle(value, null, hedged);
+	}
+
+	private void onAttemptFailed(Exception e, boolean hedged) {
+		lastError = e;
+		// 另一次执行仍在运行时以其结果为准
+		if (pendingAttempts.decrementAndGet() > 0) {
+			return;
+		}
+		settle(null, e, hedged);
+	}
+
+	/**
+	 * 确定结果：执行任务生命周期的错误处理/后置处理后完成Future，同BaseInnerCall#call异常时结果为null
+	 */
+	private void settle(R value, Exception error, boolean hedged) {
+		if (!settled.compareAndSet(false, true)) {
+			return;
+		}
+		RuntimeException thrown = null;
+		try {
+			if (Objects.nonNull(error)) {
+				task.onError(error);
+			} else if (hedged) {
+				batch.getExecutor().getMetrics().recordHedgeWon();
+			}
+		} catch (RuntimeException e) {
+			thrown = e;
+		} finally {
+			batch.recordLatency(System.nanoTime() - task.getStartNanos());
+			task.onEnd();
+		}
+		settledByHedge = hedged;
+		if (Objects.nonNull(thrown)) {
+			setException(thrown);
+		} else {
+			set(value);
+		}
+	}
+
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		// 主执行未由FutureTask#run驱动，中断由done()统一处理
+		return super.cancel(false);
+	}
+
+	/**
+	 * 结果确定或被取消时：停止定时器，取消对冲执行，中断仍在运行的主执行
+	 */
+	@Override
+	protected void done() {
+		ScheduledFuture<?> timer = hedgeTimer;
+		if (Objects.nonNull(timer)) {
+			timer.cancel(false);
+		}
+		Future<?> hedge = hedgeFuture;
+		if (Objects.nonNull(hedge) && !settledByHedge) {
+			hedge.cancel(true);
+		}
+		synchronized (this) {
+			if (Objects.nonNull(primaryThread) && primaryThread != Thread.currentThread()) {
+				primaryInterrupted = true;
+				primaryThread.interrupt();
+			}
+		}
+		super.done();
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 工具包内部共享的后台调度线程(单个守护线程)，用于线程池采样等周期性的轻量任务，
+ * 任务内不允许阻塞；
+ * 超时、延迟重试等数量大且精度要求为刻度级别的定时任务使用共享时间轮{@link #newTimeout(Runnable, long, TimeUnit)}
+ *
+ * @author Phray
+ * @Version HelperScheduler.java, v 0.1 2026-10-17 13:02 Sccc Exp $
+ */
+final class HelperScheduler {
+
+	private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+	/**
+	 * 时间轮刻度(ms)
+	 */
+	private static final long WHEEL_TICK_MILLIS = 10L;
+
+	/**
+	 * 时间轮槽位数，一圈约5s
+	 */
+	private static final int WHEEL_SIZE = 512;
+
+	private static final HashedWheelTimer WHEEL = new HashedWheelTimer("TOOLBOX_WHEEL_TIMER",
+			WHEEL_TICK_MILLIS, TimeUnit.MILLISECONDS, WHEEL_SIZE);
+
+	private HelperScheduler() {
+	}
+
+	/**
+	 * 固定频率执行周期任务
+	 *
+	 * @param task   任务
+	 * @param period 执行周期
+	 * @param unit   时间单位
+	 * @return ScheduledFuture
+	 */
+	static ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period, TimeUnit unit) {
+		return SCHEDULER.scheduleAtFixedRate(task, period, period, unit);
+	}
+
+	/**
+	 * 延迟执行一次
+	 *
+	 * @param task  任务
+	 * @param delay 延迟时间
+	 * @param unit  时间单位
+	 * @return ScheduledFuture
+	 */
+	static ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+		return SCHEDULER.schedule(task, delay, unit);
+	}
+
+	/**
+	 * 在共享时间轮上登记一次性定时任务，触发精度为刻度(10ms)
+	 *
+	 * @param task  任务(在时间轮线程上执行，不允许阻塞)
+	 * @param delay 延迟时间
+	 * @param unit  时间单位
+	 * @return 定时任务句柄，可取消
+	 */
+	static HashedWheelTimer.Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+		return WHEEL.newTimeout(task, delay, unit);
+	}
+
+	/**
+	 * @return 共享时间轮上待触发的定时任务数
+	 */
+	static long pendingTimeoutCnt() {
+		return WHEEL.pendingCnt();
+	}
+
+	private static ScheduledExecutorService createScheduler() {
+		ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+				new ThreadFactoryBuilder().setNameFormat("TOOLBOX_SCHEDULER_%d").setDaemon(true).build());
+		scheduler.setRemoveOnCancelPolicy(true);
+		return scheduler;
+	}
+}
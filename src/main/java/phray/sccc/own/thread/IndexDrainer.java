@@ -0,0 +1,55 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * 分片执行单元：多个执行单元共享一个下标游标，循环领取并执行任务，直到任务领完或被要求停止
+ *
+ * @author Phray
+ * @Version IndexDrainer.java, v 0.1 2026-10-17 17:02 Sccc Exp $
+ * @see BatchOptions#isChunked()
+ */
+final class IndexDrainer<T> implements Runnable {
+
+	private final List<T> items;
+
+	/**
+	 * 共享游标
+	 */
+	private final AtomicInteger cursor;
+
+	/**
+	 * 任务执行动作(任务, 下标)
+	 */
+	private final ObjIntConsumer<T> action;
+
+	/**
+	 * 停止条件(如快速失败)
+	 */
+	private final BooleanSupplier stop;
+
+	IndexDrainer(List<T> items, AtomicInteger cursor, ObjIntConsumer<T> action, BooleanSupplier stop) {
+		this.items = items;
+		this.cursor = cursor;
+		this.action = action;
+		this.stop = stop;
+	}
+
+	@Override
+	public void run() {
+		int size = items.size();
+		for (int i = cursor.getAndIncrement(); i < size; i = cursor.getAndIncrement()) {
+			if (stop.getAsBoolean()) {
+				return;
+			}
+			action.accept(items.get(i), i);
+		}
+	}
+}
@@ -0,0 +1,224 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import phray.sccc.own.exception.BizException;
+import phray.sccc.own.exception.ErrorCodeEnum;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 保留{@link BaseJob}引用的FutureTask，使线程池在任务被包装后仍能识别任务本身(如失败统计)
+ * <p>
+ * 任务设置了{@link BaseJob#getTimeoutMillis()}时，创建即在共享时间轮上登记超时：
+ * 超时时任务尚未开始则直接失败不再执行，已开始则取消并中断；两种情况get均抛出以{@link ErrorCodeEnum#TASK_TIMEOUT}为原因的ExecutionException
+ * </p>
+ *
+ * @author Phray
+ * @Version JobFutureTask.java, v 0.1 2026-10-17 15:01 Sccc Exp $
+ */
+class JobFutureTask<V> extends FutureTask<V> {
+
+	/**
+	 * 退出标记：执行线程已离开任务(或任务不会再执行)
+	 */
+	private static final Runnable EXITED = () -> {
+	};
+
+	/**
+	 * 任务本身，非BaseJob时为null
+	 */
+	private final BaseJob job;
+
+	/**
+	 * 任务只执行一次(线程池、嵌套调用方与超时处理竞争执行权)
+	 */
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	/**
+	 * 完成回调(可选)，需在提交前设置
+	 */
+	private Runnable doneCallback;
+
+	/**
+	 * 超时定时任务，未设置超时时为null
+	 */
+	private volatile HashedWheelTimer.Timeout timeout;
+
+	/**
+	 * 超时异常，未超时时为null
+	 */
+	private volatile BizException timeoutError;
+
+	/**
+	 * 退出回调，执行线程离开任务后置为{@link #EXITED}
+	 */
+	private final AtomicReference<Runnable> exitCallback = new AtomicReference<>();
+
+	JobFutureTask(Callable<V> callable) {
+		super(callable);
+		this.job = callable instanceof BaseJob ? (BaseJob) callable : null;
+		armTimeout();
+	}
+
+	JobFutureTask(Runnable runnable, V result) {
+		super(runnable, result);
+		this.job = runnable instanceof BaseJob ? (BaseJob) runnable : null;
+		armTimeout();
+	}
+
+	BaseJob getJob() {
+		return job;
+	}
+
+	/**
+	 * 设置完成(含异常、取消)回调，需在提交到线程池之前调用
+	 *
+	 * @param doneCallback 完成回调
+	 * @return this
+	 */
+	JobFutureTask<V> onDone(Runnable doneCallback) {
+		this.doneCallback = doneCallback;
+		return this;
+	}
+
+	/**
+	 * 获取执行权，只有首个调用方返回true
+	 *
+	 * @return true: 获取成功
+	 */
+	boolean claimRun() {
+		return !started.get() && started.compareAndSet(false, true);
+	}
+
+	/**
+	 * @return true: 执行权已被领取(已开始执行或已因超时放弃)
+	 */
+	boolean isClaimed() {
+		return started.get();
+	}
+
+	/**
+	 * 设置退出回调：执行线程离开任务(或任务因超时不再执行)后调用，已退出时立即调用
+	 * <p>
+	 * 因超时被取消时完成回调先于退出触发，被中断的执行可能仍在运行；
+	 * 需要重新执行同一任务对象时(如重试)在退出回调中提交，避免两次执行并发
+	 * </p>
+	 *
+	 * @param callback 退出回调，只能设置一次
+	 */
+	void afterExit(Runnable callback) {
+		if (!exitCallback.compareAndSet(null, callback)) {
+			callback.run();
+		}
+	}
+
+	@Override
+	public void run() {
+		if (isDone() || !claimRun()) {
+			return;
+		}
+		try {
+			super.run();
+		} finally {
+			markExited();
+		}
+	}
+
+	@Override
+	public V get() throws InterruptedException, ExecutionException {
+		try {
+			return super.get();
+		} catch (CancellationException e) {
+			throw translateCancel(e);
+		}
+	}
+
+	@Override
+	public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		try {
+			return super.get(timeout, unit);
+		} catch (CancellationException e) {
+			throw translateCancel(e);
+		}
+	}
+
+	@Override
+	protected void done() {
+		HashedWheelTimer.Timeout current = timeout;
+		if (Objects.nonNull(current)) {
+			current.cancel();
+		}
+		if (doneCallback != null) {
+			doneCallback.run();
+		}
+	}
+
+	private void armTimeout() {
+		if (Objects.isNull(job) || job.getTimeoutMillis() <= 0) {
+			return;
+		}
+		timeout = HelperScheduler.newTimeout(this::expire, job.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 超时处理(在时间轮线程上执行)
+	 */
+	private void expire() {
+		if (isDone()) {
+			return;
+		}
+		BizException error = new BizException(ErrorCodeEnum.TASK_TIMEOUT, "任务: [%s] 执行超时, Timeout: [%d]ms",
+				job.getDesc(), job.getTimeoutMillis());
+		timeoutError = error;
+		if (!abandon(error)) {
+			cancel(true);
+		}
+	}
+
+	/**
+	 * 放弃尚未开始的任务：不再执行，按失败处理(释放批次发令枪、上报批次异常)，get抛出以error为原因的ExecutionException
+	 *
+	 * @param error 失败原因
+	 * @return false: 任务已开始或已结束，未做处理
+	 */
+	boolean abandon(RuntimeException error) {
+		if (isDone() || !claimRun()) {
+			return false;
+		}
+		if (Objects.nonNull(job)) {
+			job.abandon(error);
+		}
+		setException(error);
+		markExited();
+		return true;
+	}
+
+	private void markExited() {
+		Runnable callback = exitCallback.getAndSet(EXITED);
+		if (Objects.nonNull(callback) && callback != EXITED) {
+			callback.run();
+		}
+	}
+
+	/**
+	 * 因超时被取消时转换为超时异常，其余取消原样抛出
+	 */
+	private ExecutionException translateCancel(CancellationException e) throws CancellationException {
+		BizException error = timeoutError;
+		if (Objects.isNull(error)) {
+			throw e;
+		}
+		return new ExecutionException(error);
+	}
+}
@@ -0,0 +1,179 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.extern.slf4j.Slf4j;
+import phray.sccc.own.log.LoggerUtil;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按key串行的执行器：同一key的任务在同一条通道内按提交顺序执行，不同key的通道并行分布在线程池的线程上
+ * <p>
+ * 每个key一条通道(无锁队列 + 计数)，计数从0变为1的提交者负责把通道提交到线程池，通道内同一时刻只有一个线程在执行；
+ * 通道排空后通过CAS退役并从映射中移除，不保留空闲key。没有全局锁，只有同一key的提交之间存在竞争
+ * </p>
+ * <p>
+ * 通道的提交不允许由拒绝策略内联执行：被拒绝时由当前线程在同一栈帧内循环执行通道，
+ * 连续执行{@value #MAX_BATCH_PER_RUN}个任务后再尝试重新提交，仍被拒绝则继续执行，调用栈不随任务数增长
+ * </p>
+ * 注意：同一key的任务中不要同步等待同一key的后续任务结果，否则会自我死锁
+ *
+ * @author Phray
+ * @Version KeyedLaneExecutor.java, v 0.1 2026-10-17 22:50 Sccc Exp $
+ */
+@Slf4j
+final class KeyedLaneExecutor {
+
+	/**
+	 * 通道单次连续执行的最大任务数，超出后重新提交通道，让出线程给其他通道
+	 */
+	static final int MAX_BATCH_PER_RUN = 64;
+
+	/**
+	 * 通道提交入口，线程池饱和时须抛出{@link RejectedExecutionException}而不是内联执行
+	 */
+	private final Executor executor;
+
+	private final ConcurrentHashMap<Object, Lane> lanes = new ConcurrentHashMap<>();
+
+	KeyedLaneExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * 提交任务到key对应的通道
+	 *
+	 * @param key     串行key
+	 * @param command 任务
+	 */
+	void execute(Object key, Runnable command) {
+		for (; ; ) {
+			Lane lane = lanes.computeIfAbsent(key, Lane::new);
+			if (lane.enqueue(command)) {
+				return;
+			}
+			// 通道已退役，协助移除后重试
+			lanes.remove(key, lane);
+		}
+	}
+
+	/**
+	 * @return 当前活跃通道数
+	 */
+	int laneCnt() {
+		return lanes.size();
+	}
+
+	/**
+	 * 单个key的通道
+	 */
+	private final class Lane implements Runnable {
+
+		/**
+		 * 已退役：通道排空后不再接收任务
+		 */
+		private static final int RETIRED = -1;
+
+		private final Object key;
+
+		private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * 已预留(待执行 + 执行中)的任务数，RETIRED表示已退役
+		 */
+		private final AtomicInteger pending = new AtomicInteger();
+
+		private Lane(Object key) {
+			this.key = key;
+		}
+
+		/**
+		 * 先预留计数再入队；计数从0变为1时通道没有执行线程，由当前提交者调度
+		 *
+		 * @return false: 通道已退役
+		 */
+		private boolean enqueue(Runnable command) {
+			int current;
+			do {
+				current = pending.get();
+				if (current == RETIRED) {
+					return false;
+				}
+			} while (!pending.compareAndSet(current, current + 1));
+			queue.offer(command);
+			if (current == 0 && !trySchedule()) {
+				// 线程池拒绝时在当前线程执行，保证通道不会停滞
+				run();
+			}
+			return true;
+		}
+
+		/**
+		 * @return false: 线程池拒绝，调用方需自行执行通道
+		 */
+		private boolean trySchedule() {
+			try {
+				executor.execute(this);
+				return true;
+			} catch (RejectedExecutionException e) {
+				return false;
+			}
+		}
+
+		@Override
+		public void run() {
+			// 每批结束后重新提交让出线程；被拒绝时留在本栈帧继续执行下一批
+			while (runBatch()) {
+				if (trySchedule()) {
+					return;
+				}
+			}
+		}
+
+		/**
+		 * 连续执行至多{@link #MAX_BATCH_PER_RUN}个任务
+		 *
+		 * @return true: 仍有待执行任务且执行权仍在当前线程
+		 */
+		private boolean runBatch() {
+			for (int i = 0; i < MAX_BATCH_PER_RUN; i++) {
+				Runnable command = poll();
+				// 同ThreadPoolExecutor#runWorker：清除上一个任务遗留的中断(超时或cancel(true))，不影响同key的下一个任务
+				Thread.interrupted();
+				try {
+					command.run();
+				} catch (Throwable e) {
+					// 异常(含Error)不能中断通道：跳过计数递减会使同key的后续任务永久停滞
+					LoggerUtil.warn(log, e, "keyed_lane: [%s] 任务执行异常", key);
+				}
+				if (pending.decrementAndGet() == 0) {
+					// 计数归0即交出执行权：退役成功则移除通道，失败说明新提交者(0->1)已重新调度通道
+					if (pending.compareAndSet(0, RETIRED)) {
+						lanes.remove(key, this);
+					}
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * 计数已预留但提交者尚未完成入队时短暂等待
+		 */
+		private Runnable poll() {
+			Runnable command;
+			while ((command = queue.poll()) == null) {
+				Thread.yield();
+			}
+			return command;
+		}
+	}
+}
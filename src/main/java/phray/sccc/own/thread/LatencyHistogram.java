@@ -0,0 +1,105 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁耗时直方图：按微秒的2的幂分桶(第i个桶覆盖[2^(i-1), 2^i)微秒)，每个桶一个{@link LongAdder}，
+ * 记录时无锁无分配，分位数精度为桶上界(误差在2倍以内)，适合生产环境常开
+ *
+ * @author Phray
+ * @Version LatencyHistogram.java, v 0.1 2026-10-17 14:20 Sccc Exp $
+ */
+final class LatencyHistogram {
+
+	/**
+	 * 桶数量，最后一个桶覆盖 >= 2^(BUCKET_CNT-2) 微秒(约35分钟)
+	 */
+	static final int BUCKET_CNT = 32;
+
+	private final LongAdder[] buckets = new LongAdder[BUCKET_CNT];
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder sumNanos = new LongAdder();
+
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+	LatencyHistogram() {
+		for (int i = 0; i < BUCKET_CNT; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * 记录一次耗时
+	 *
+	 * @param nanos 耗时(ns)
+	 */
+	void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		long micros = nanos / 1000;
+		int index = Math.min(BUCKET_CNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+		buckets[index].increment();
+		count.increment();
+		sumNanos.add(nanos);
+		maxNanos.accumulate(nanos);
+	}
+
+	long getCount() {
+		return count.sum();
+	}
+
+	long getSumNanos() {
+		return sumNanos.sum();
+	}
+
+	long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * 分位数(桶上界)
+	 *
+	 * @param percentile 分位，如0.99
+	 * @return 耗时(ms)
+	 */
+	double percentileMillis(double percentile) {
+		long[] snapshot = snapshot();
+		long total = 0;
+		for (long bucket : snapshot) {
+			total += bucket;
+		}
+		if (total == 0) {
+			return 0D;
+		}
+		long rank = (long) Math.ceil(total * percentile);
+		long seen = 0;
+		for (int i = 0; i < BUCKET_CNT; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				return (1L << i) / 1000D;
+			}
+		}
+		return getMaxNanos() / 1_000_000D;
+	}
+
+	/**
+	 * 各桶计数快照
+	 *
+	 * @return 计数数组
+	 */
+	long[] snapshot() {
+		long[] snapshot = new long[BUCKET_CNT];
+		for (int i = 0; i < BUCKET_CNT; i++) {
+			snapshot[i] = buckets[i].sum();
+		}
+		return snapshot;
+	}
+}
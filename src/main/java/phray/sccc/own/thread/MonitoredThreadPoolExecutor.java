@@ -0,0 +1,275 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import phray.sccc.own.exception.BizException;
+import phray.sccc.own.exception.ErrorCodeEnum;
+
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 可观测线程池：在{@link ThreadPoolExecutor}基础上记录任务排队耗时、执行耗时、失败数与拒绝数，
+ * 记录路径均为无锁计数，执行线程之间无竞争
+ *
+ * @author Phray
+ * @Version MonitoredThreadPoolExecutor.java, v 0.1 2026-10-17 13:18 Sccc Exp $
+ * @see ThreadPoolMetrics
+ * @see ThreadPoolAutoSizer
+ */
+public class MonitoredThreadPoolExecutor extends ThreadPoolExecutor {
+
+	/**
+	 * 当前线程所属的线程池(工作线程启动时设置一次)，用于识别嵌套扇出
+	 */
+	private static final ThreadLocal<MonitoredThreadPoolExecutor> CURRENT_POOL = new ThreadLocal<>();
+
+	/**
+	 * 线程池枚举
+	 */
+	private final ThreadPoolEnum threadPoolEnum;
+
+	/**
+	 * 线程池指标
+	 */
+	private final ThreadPoolMetrics metrics;
+
+	/**
+	 * 在途许可(背压模式)，数量 = 队列容量(直接移交队列无容量时 = 最大线程数)：
+	 * 只约束持有许可的提交，使其在途任务(执行中 + 排队中)不超过队列容量；
+	 * 同一线程池内不经许可的提交(直接使用{@link #execute}、对冲、合并、串行通道、重试等)同样占用队列，
+	 * 因此持有许可的提交仍可能遇到队列已满而触发拒绝策略，许可只能平滑批量提交，不能保证不被拒绝
+	 */
+	private final Semaphore inFlightPermits;
+
+	/**
+	 * 在途许可总数
+	 */
+	private final int permitCnt;
+
+	/**
+	 * 按key串行执行的通道
+	 */
+	private final KeyedLaneExecutor keyedLanes;
+
+	public MonitoredThreadPoolExecutor(ThreadPoolEnum threadPoolEnum, int corePoolSize, int maximumPoolSize,
+									   long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue,
+									   ThreadFactory threadFactory, RejectedExecutionHandler handler) {
+		this(threadPoolEnum, corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler,
+				new ThreadPoolMetrics(threadPoolEnum.getCode()));
+	}
+
+	private MonitoredThreadPoolExecutor(ThreadPoolEnum threadPoolEnum, int corePoolSize, int maximumPoolSize,
+										long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue,
+										ThreadFactory threadFactory, RejectedExecutionHandler handler,
+										ThreadPoolMetrics metrics) {
+		super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory,
+				new CountingRejectedExecutionHandler(handler, metrics));
+		this.threadPoolEnum = threadPoolEnum;
+		this.metrics = metrics;
+		this.permitCnt = workQueue.remainingCapacity() > 0 ? workQueue.remainingCapacity() : maximumPoolSize;
+		this.inFlightPermits = new Semaphore(permitCnt);
+		this.keyedLanes = new KeyedLaneExecutor(this::executeNoInline);
+		metrics.bind(this);
+		// 工作线程启动时标记所属线程池，之后判断无需每个任务设置ThreadLocal
+		setThreadFactory(r -> threadFactory.newThread(() -> {
+			CURRENT_POOL.set(this);
+			r.run();
+		}));
+	}
+
+	/**
+	 * 当前线程是否为本工具任一线程池的工作线程
+	 *
+	 * @return true: 是
+	 */
+	static boolean isWorkerThread() {
+		return Objects.nonNull(CURRENT_POOL.get());
+	}
+
+	/**
+	 * 当前线程是否为本线程池的工作线程
+	 *
+	 * @return true: 是
+	 */
+	public boolean isCurrentThreadWorker() {
+		return CURRENT_POOL.get() == this;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		super.execute(command instanceof TrackedTask ? command : new TrackedTask(command));
+	}
+
+	/**
+	 * 不内联提交：线程池饱和时不论拒绝策略如何都抛出{@link RejectedExecutionException}，
+	 * 保证任务不会在提交线程(如调度线程、正在合并结果的工作线程)上执行，由调用方自行兜底
+	 *
+	 * @param command 任务
+	 * @throws RejectedExecutionException 线程池饱和或已关闭
+	 */
+	public void executeNoInline(Runnable command) {
+		super.execute(new TrackedTask(command, null, false));
+	}
+
+	/**
+	 * 背压提交：在截止时间内阻塞等待在途许可，拿到许可后再入队，任务结束时归还；
+	 * 批量提交因此排队在提交侧，而不是持续撑满队列；
+	 * 队列同时被不经许可的提交占用时仍可能触发拒绝策略(见{@link #inFlightPermits})
+	 *
+	 * @param command 任务
+	 * @param timeout 等待许可的最长时间
+	 * @param unit    时间单位
+	 * @throws BizException 等待许可超时或被中断
+	 */
+	public void executeWithPermit(Runnable command, long timeout, TimeUnit unit) {
+		long begin = System.nanoTime();
+		boolean acquired;
+		try {
+			acquired = inFlightPermits.tryAcquire(timeout, unit);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			metrics.recordPermitWait(System.nanoTime() - begin, false);
+			throw new BizException(ErrorCodeEnum.THREAD_POOL_BUSY, e, "thread_pool: [%s] 等待提交许可被中断",
+					threadPoolEnum.getCode());
+		}
+		metrics.recordPermitWait(System.nanoTime() - begin, acquired);
+		if (!acquired) {
+			throw new BizException(ErrorCodeEnum.THREAD_POOL_BUSY, "thread_pool: [%s] 等待提交许可超时, Timeout: [%s], TimeUnit: [%s]",
+					threadPoolEnum.getCode(), timeout, unit);
+		}
+
+		TrackedTask task = new TrackedTask(command, inFlightPermits);
+		try {
+			super.execute(task);
+		} catch (RuntimeException e) {
+			// 拒绝策略已归还许可(非CallerRuns)，这里只处理线程池关闭等其他异常
+			if (!(e instanceof RejectedExecutionException)) {
+				task.releasePermit();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * 线程池是否饱和：队列已满(直接移交队列始终为满)且线程数已达上限，此时新提交会触发拒绝策略
+	 *
+	 * @return true: 饱和
+	 */
+	public boolean isSaturated() {
+		return getQueue().remainingCapacity() == 0 && getActiveCount() >= getMaximumPoolSize();
+	}
+
+	/**
+	 * @return 背压模式下在途任务数
+	 */
+	public int getInFlightCnt() {
+		return permitCnt - inFlightPermits.availablePermits();
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+		return new JobFutureTask<>(runnable, value);
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+		return new JobFutureTask<>(callable);
+	}
+
+	@Override
+	protected void beforeExecute(Thread t, Runnable r) {
+		super.beforeExecute(t, r);
+		if (r instanceof TrackedTask) {
+			TrackedTask task = (TrackedTask) r;
+			task.markStale();
+			if (task.isStale()) {
+				return;
+			}
+			long now = System.nanoTime();
+			task.setStartNanos(now);
+			metrics.recordQueueWait(now - task.getSubmitNanos());
+		}
+	}
+
+	@Override
+	protected void afterExecute(Runnable r, Throwable t) {
+		super.afterExecute(r, t);
+		if (r instanceof TrackedTask) {
+			recordExec((TrackedTask) r, t);
+		}
+	}
+
+	/**
+	 * 拒绝策略为CallerRuns时在提交线程上执行任务，与工作线程一样记录执行耗时与失败数(无排队耗时)
+	 *
+	 * @param task 被拒绝的任务
+	 */
+	void runCallerRuns(TrackedTask task) {
+		task.markStale();
+		task.setStartNanos(System.nanoTime());
+		Throwable thrown = null;
+		try {
+			task.run();
+		} catch (RuntimeException | Error e) {
+			thrown = e;
+			throw e;
+		} finally {
+			recordExec(task, thrown);
+		}
+	}
+
+	private void recordExec(TrackedTask task, Throwable t) {
+		if (task.isStale()) {
+			return;
+		}
+		metrics.recordExec(System.nanoTime() - task.getStartNanos());
+		BaseJob job = task.getJob();
+		if (Objects.nonNull(t) || (Objects.nonNull(job) && job.isFailed())) {
+			metrics.recordFailed();
+		}
+	}
+
+	public ThreadPoolEnum getThreadPoolEnum() {
+		return threadPoolEnum;
+	}
+
+	KeyedLaneExecutor getKeyedLanes() {
+		return keyedLanes;
+	}
+
+	public ThreadPoolMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * @return 已完成任务数(累计)
+	 */
+	public long getCompletedCnt() {
+		return metrics.getCompletedCnt();
+	}
+
+	/**
+	 * @return 累计排队耗时(ns)
+	 */
+	public long getWaitNanos() {
+		return metrics.getQueueWaitNanos();
+	}
+
+	/**
+	 * @return 累计执行耗时(ns)
+	 */
+	public long getRunNanos() {
+		return metrics.getExecNanos();
+	}
+}
@@ -0,0 +1,173 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import phray.sccc.own.exception.BizException;
+import phray.sccc.own.exception.ErrorCodeEnum;
+
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 并行树形归约：部分结果到达时若已有另一个等待中的部分结果，则取出配对并提交到线程池合并，
+ * 合并结果再次参与配对，直到覆盖全部任务
+ * <p>
+ * 等待槽位最多只保存一个部分结果，配对通过CAS完成，无锁
+ * </p>
+ * <p>
+ * 合并被线程池拒绝时不在当前线程内联执行，而是放入待合并队列，由下一个完成的任务或等待结果的调用方领取，
+ * 避免在工作线程上串行化合并、沿CAS配对链递归
+ * </p>
+ *
+ * @author Phray
+ * @Version ParallelReducer.java, v 0.1 2026-10-17 11:12 Sccc Exp $
+ */
+final class ParallelReducer<R> {
+
+	/**
+	 * 合并提交入口，饱和时须抛出{@link RejectedExecutionException}而不是内联执行
+	 */
+	private final Executor executor;
+
+	private final CallableTaskCombiner<R> combiner;
+
+	/**
+	 * 叶子结果总数
+	 */
+	private final int total;
+
+	/**
+	 * 等待配对的部分结果
+	 */
+	private final AtomicReference<Partial<R>> slot = new AtomicReference<>();
+
+	/**
+	 * 最终结果
+	 */
+	private final CompletableFuture<R> result = new CompletableFuture<>();
+
+	/**
+	 * 被线程池拒绝的合并，结束时放入空任务唤醒等待方
+	 */
+	private final BlockingQueue<Runnable> pendingMerges = new LinkedBlockingQueue<>();
+
+	ParallelReducer(Executor executor, CallableTaskCombiner<R> combiner, int total) {
+		this.executor = executor;
+		this.combiner = combiner;
+		this.total = total;
+		result.whenComplete((value, error) -> pendingMerges.add(() -> {
+		}));
+	}
+
+	/**
+	 * 提交一个任务(叶子)结果
+	 *
+	 * @param value 任务结果
+	 */
+	void offer(R value) {
+		runPendingMerges();
+		offer(new Partial<>(value, 1));
+	}
+
+	/**
+	 * 整体失败
+	 *
+	 * @param e 异常
+	 */
+	void fail(RuntimeException e) {
+		result.completeExceptionally(e);
+	}
+
+	CompletableFuture<R> result() {
+		return result;
+	}
+
+	/**
+	 * 等待最终结果，等待期间由调用方领取被拒绝的合并
+	 *
+	 * @param timeoutNanos 超时时间(纳秒)
+	 * @return 最终结果
+	 */
+	R await(long timeoutNanos) throws InterruptedException, ExecutionException, TimeoutException {
+		long deadline = System.nanoTime() + timeoutNanos;
+		while (!result.isDone()) {
+			Runnable merge = pendingMerges.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+			if (Objects.isNull(merge)) {
+				throw new TimeoutException();
+			}
+			merge.run();
+		}
+		return result.get();
+	}
+
+	private void runPendingMerges() {
+		Runnable merge;
+		while (!result.isDone() && Objects.nonNull(merge = pendingMerges.poll())) {
+			merge.run();
+		}
+	}
+
+	private void offer(Partial<R> partial) {
+		if (partial.count == total) {
+			result.complete(partial.value);
+			return;
+		}
+		for (; ; ) {
+			Partial<R> other = slot.getAndSet(null);
+			if (Objects.nonNull(other)) {
+				scheduleMerge(other, partial);
+				return;
+			}
+			if (slot.compareAndSet(null, partial)) {
+				return;
+			}
+		}
+	}
+
+	private void scheduleMerge(Partial<R> left, Partial<R> right) {
+		Runnable merge = () -> merge(left, right);
+		try {
+			executor.execute(merge);
+		} catch (RejectedExecutionException e) {
+			pendingMerges.add(merge);
+		}
+	}
+
+	private void merge(Partial<R> left, Partial<R> right) {
+		if (result.isDone()) {
+			return;
+		}
+		try {
+			offer(new Partial<>(combiner.combine(left.value, right.value), left.count + right.count));
+		} catch (Exception e) {
+			result.completeExceptionally(
+					new BizException(ErrorCodeEnum.ASYNC_EXEC_EXCEPTION, e, ExceptionUtils.getStackTrace(e)));
+		}
+	}
+
+	/**
+	 * 部分结果，count为已覆盖的叶子数
+	 */
+	private static final class Partial<R> {
+
+		private final R value;
+
+		private final int count;
+
+		private Partial(R value, int count) {
+			this.value = value;
+			this.count = count;
+		}
+	}
+}
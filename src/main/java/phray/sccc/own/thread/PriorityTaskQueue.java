@@ -0,0 +1,365 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 有界优先级任务队列
+ * <p>
+ * 排序键 = 提交时间 - 优先级 * 老化步长：优先级每高一级，相当于提前一个步长提交；
+ * 低优先级任务排队超过(优先级差 * 步长)后排在新提交的高优先级任务之前，因此不会饿死。
+ * 排序键相同时按入队顺序先进先出
+ * </p>
+ * <p>
+ * 容量检查与入队、出队在同一把锁内完成(与ArrayBlockingQueue一致)，超出容量时offer返回false，
+ * 由线程池按拒绝策略处理；put/带超时的offer阻塞等待空位
+ * </p>
+ *
+ * @author Phray
+ * @Version PriorityTaskQueue.java, v 0.1 2026-10-17 20:10 Sccc Exp $
+ */
+final class PriorityTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+	/**
+	 * 默认老化步长(ms)
+	 */
+	static final long DEFAULT_AGING_STEP_MILLIS = 100L;
+
+	private final int capacity;
+
+	private final long agingStepNanos;
+
+	private final PriorityQueue<Entry> entries;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition notEmpty = lock.newCondition();
+
+	private final Condition notFull = lock.newCondition();
+
+	/**
+	 * 入队序号，排序键相同时保证先进先出，仅在持有锁时读写
+	 */
+	private long sequence;
+
+	PriorityTaskQueue(int capacity) {
+		this(capacity, DEFAULT_AGING_STEP_MILLIS);
+	}
+
+	PriorityTaskQueue(int capacity, long agingStepMillis) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity必须大于0");
+		}
+		this.capacity = capacity;
+		this.agingStepNanos = TimeUnit.MILLISECONDS.toNanos(agingStepMillis);
+		this.entries = new PriorityQueue<>(Math.min(capacity, 64));
+	}
+
+	@Override
+	public boolean offer(Runnable runnable) {
+		Objects.requireNonNull(runnable);
+		lock.lock();
+		try {
+			if (entries.size() >= capacity) {
+				return false;
+			}
+			enqueue(runnable);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void put(Runnable runnable) throws InterruptedException {
+		Objects.requireNonNull(runnable);
+		lock.lockInterruptibly();
+		try {
+			while (entries.size() >= capacity) {
+				notFull.await();
+			}
+			enqueue(runnable);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean offer(Runnable runnable, long timeout, TimeUnit unit) throws InterruptedException {
+		Objects.requireNonNull(runnable);
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		try {
+			while (entries.size() >= capacity) {
+				if (nanos <= 0L) {
+					return false;
+				}
+				nanos = notFull.awaitNanos(nanos);
+			}
+			enqueue(runnable);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Runnable poll() {
+		lock.lock();
+		try {
+			return dequeue();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Runnable take() throws InterruptedException {
+		lock.lockInterruptibly();
+		try {
+			while (entries.isEmpty()) {
+				notEmpty.await();
+			}
+			return dequeue();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		try {
+			while (entries.isEmpty()) {
+				if (nanos <= 0L) {
+					return null;
+				}
+				nanos = notEmpty.awaitNanos(nanos);
+			}
+			return dequeue();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Runnable peek() {
+		lock.lock();
+		try {
+			Entry head = entries.peek();
+			return Objects.isNull(head) ? null : head.task;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		lock.lock();
+		try {
+			return entries.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int remainingCapacity() {
+		lock.lock();
+		try {
+			return capacity - entries.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (Objects.isNull(o)) {
+			return false;
+		}
+		lock.lock();
+		try {
+			for (Iterator<Entry> it = entries.iterator(); it.hasNext(); ) {
+				if (o.equals(it.next().task)) {
+					it.remove();
+					notFull.signal();
+					return true;
+				}
+			}
+			return false;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (Objects.isNull(o)) {
+			return false;
+		}
+		lock.lock();
+		try {
+			for (Entry entry : entries) {
+				if (o.equals(entry.task)) {
+					return true;
+				}
+			}
+			return false;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		lock.lock();
+		try {
+			entries.clear();
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int drainTo(Collection<? super Runnable> c) {
+		return drainTo(c, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public int drainTo(Collection<? super Runnable> c, int maxElements) {
+		Objects.requireNonNull(c);
+		if (c == this) {
+			throw new IllegalArgumentException();
+		}
+		lock.lock();
+		try {
+			int n = 0;
+			while (n < maxElements && !entries.isEmpty()) {
+				c.add(dequeue());
+				n++;
+			}
+			return n;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 弱一致迭代器：遍历调用时的快照(按排序键顺序)，remove作用于队列本身
+	 */
+	@Override
+	public Iterator<Runnable> iterator() {
+		List<Entry> snapshot;
+		lock.lock();
+		try {
+			snapshot = new ArrayList<>(entries);
+		} finally {
+			lock.unlock();
+		}
+		snapshot.sort(null);
+		return new Iterator<Runnable>() {
+
+			private int cursor;
+
+			private Runnable last;
+
+			@Override
+			public boolean hasNext() {
+				return cursor < snapshot.size();
+			}
+
+			@Override
+			public Runnable next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				last = snapshot.get(cursor++).task;
+				return last;
+			}
+
+			@Override
+			public void remove() {
+				if (Objects.isNull(last)) {
+					throw new IllegalStateException();
+				}
+				PriorityTaskQueue.this.remove(last);
+				last = null;
+			}
+		};
+	}
+
+	/**
+	 * 入队，需持有锁且已确认有空位
+	 */
+	private void enqueue(Runnable runnable) {
+		entries.add(new Entry(runnable, agingStepNanos, sequence++));
+		notEmpty.signal();
+	}
+
+	/**
+	 * 出队，需持有锁
+	 */
+	private Runnable dequeue() {
+		Entry head = entries.poll();
+		if (Objects.isNull(head)) {
+			return null;
+		}
+		notFull.signal();
+		return head.task;
+	}
+
+	/**
+	 * 队列元素：排序键在入队时计算一次
+	 */
+	private static final class Entry implements Comparable<Entry> {
+
+		private final Runnable task;
+
+		/**
+		 * 非{@link TrackedTask}的任务(不经过MonitoredThreadPoolExecutor#execute)排在最后
+		 */
+		private final boolean tracked;
+
+		private final long rank;
+
+		private final long seq;
+
+		private Entry(Runnable task, long agingStepNanos, long seq) {
+			this.task = task;
+			this.tracked = task instanceof TrackedTask;
+			this.rank = tracked ? rank((TrackedTask) task, agingStepNanos) : 0L;
+			this.seq = seq;
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			if (tracked != other.tracked) {
+				return tracked ? -1 : 1;
+			}
+			// nanoTime只能比较差值
+			int byRank = Long.signum(rank - other.rank);
+			return byRank != 0 ? byRank : Long.compare(seq, other.seq);
+		}
+
+		private static long rank(TrackedTask task, long agingStepNanos) {
+			return task.getSubmitNanos() - task.getPriority() * agingStepNanos;
+		}
+	}
+}
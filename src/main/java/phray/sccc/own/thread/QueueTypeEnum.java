@@ -0,0 +1,60 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 线程池任务队列类型
+ *
+ * @author Phray
+ * @Version QueueTypeEnum.java, v 0.1 2026-10-17 20:05 Sccc Exp $
+ */
+@Getter
+@AllArgsConstructor
+public enum QueueTypeEnum {
+
+	/**
+	 * 有界先进先出队列(ArrayBlockingQueue)
+	 */
+	FIFO("FIFO", "先进先出"),
+
+	/**
+	 * 有界优先级队列，按{@link BaseJob#getPriority()}出队，并按排队时长老化，低优先级任务不会饿死
+	 *
+	 * @see PriorityTaskQueue
+	 */
+	PRIORITY("PRIORITY", "优先级"),
+
+	/**
+	 * 有界链表队列(LinkedBlockingQueue)，入队与出队分别加锁，高并发提交时生产者与消费者不互相竞争
+	 */
+	LINKED("LINKED", "链表"),
+
+	/**
+	 * 直接移交(SynchronousQueue)：不排队，任务直接交给空闲线程，无空闲线程时创建线程直至maxCnt，
+	 * 之后按拒绝策略处理；适合要求低排队延迟、可接受调用方执行(CallerRuns)的场景，queueSize不生效
+	 */
+	SYNCHRONOUS("SYNCHRONOUS", "直接移交"),
+
+	/**
+	 * 无锁有界环形队列，入队/出队均为CAS，适合大量线程同时提交的短任务
+	 *
+	 * @see RingTaskQueue
+	 */
+	RING("RING", "无锁环形"),
+	;
+
+	/**
+	 * 标识码
+	 */
+	private final String code;
+
+	/**
+	 * 描述
+	 */
+	private final String desc;
+}
@@ -0,0 +1,92 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * 重试策略：失败后按指数退避延迟重新提交，等待期间由共享时间轮计时，不占用任何线程
+ * <p>
+ * 第n次重试的基础延迟为 initialBackoffMillis * multiplier^(n-1)，不超过maxBackoffMillis；
+ * 开启抖动时实际延迟在基础延迟的[50%, 100%]内随机，避免大量调用方同时重试
+ * </p>
+ * <p>
+ * 线程池饱和拒绝提交时按同样的退避延迟推迟该次执行，单次执行最多推迟maxDeferrals次，仍被拒绝则以
+ * {@link phray.sccc.own.exception.ErrorCodeEnum#THREAD_POOL_BUSY}失败
+ * </p>
+ *
+ * @author Phray
+ * @Version RetryPolicy.java, v 0.1 2026-10-17 23:55 Sccc Exp $
+ * @see ThreadPoolHelper#runCallableTaskWithRetry(BaseInnerCall, ThreadPoolEnum, RetryPolicy)
+ */
+@Getter
+@Builder
+@ToString
+public class RetryPolicy {
+
+	/**
+	 * 最大执行次数(含首次)
+	 */
+	@Builder.Default
+	private final int maxAttempts = 3;
+
+	/**
+	 * 首次重试的基础延迟(ms)
+	 */
+	@Builder.Default
+	private final long initialBackoffMillis = 100L;
+
+	/**
+	 * 退避倍数
+	 */
+	@Builder.Default
+	private final double multiplier = 2.0D;
+
+	/**
+	 * 最大延迟(ms)
+	 */
+	@Builder.Default
+	private final long maxBackoffMillis = 10_000L;
+
+	/**
+	 * 是否随机抖动
+	 */
+	@Builder.Default
+	private final boolean jitter = true;
+
+	/**
+	 * 单次执行因线程池饱和被拒绝时的最大推迟次数
+	 */
+	@Builder.Default
+	private final int maxDeferrals = 10;
+
+	/**
+	 * 可重试判断，入参为doCall抛出的异常或超时异常，默认全部重试
+	 */
+	@Builder.Default
+	@ToString.Exclude
+	private final Predicate<Throwable> retryOn = e -> true;
+
+	/**
+	 * 计算第retry次重试前的延迟
+	 *
+	 * @param retry 重试序号，从1开始
+	 * @return 延迟(ms)
+	 */
+	long backoffMillis(int retry) {
+		double base = initialBackoffMillis * Math.pow(multiplier, retry - 1);
+		long delay = (long) Math.min(base, maxBackoffMillis);
+		if (!jitter || delay <= 1) {
+			return delay;
+		}
+		long half = delay / 2;
+		return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+	}
+}
@@ -0,0 +1,380 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import com.google.common.collect.Lists;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 无锁有界环形任务队列(多生产者多消费者)
+ * <p>
+ * 每个槽位带序号：生产者CAS入队位置后写入任务并发布序号，消费者CAS出队位置后取走任务并将序号推进一圈，
+ * 入队/出队均无锁；队列为空时工作线程先短暂自旋让出，再登记为等待者并挂起，生产者入队后唤醒一个等待者。
+ * put/带超时的offer在队列已满时同样先自旋再挂起，消费者出队后唤醒一个等待空位的生产者
+ * </p>
+ * <p>
+ * 容量向上取整为2的幂；超出容量时offer返回false，由线程池按拒绝策略处理(与ArrayBlockingQueue一致)。
+ * remove(Object)将任务所在槽位CAS为墓碑，与消费者的取走(getAndSet)只有一方成功，被移除的任务不会再执行；
+ * 墓碑槽位由消费者出队时跳过后才释放，因此移除不会立即腾出容量。迭代器为弱一致的快照，其remove作用于队列本身，
+ * {@link java.util.concurrent.ThreadPoolExecutor#remove(Runnable)}、purge与shutdownNow的排空均可正常工作
+ * </p>
+ *
+ * @author Phray
+ * @Version RingTaskQueue.java, v 0.1 2026-10-18 00:50 Sccc Exp $
+ */
+final class RingTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+	/**
+	 * 挂起前的自旋次数
+	 */
+	private static final int SPIN_TRIES = 64;
+
+	/**
+	 * 墓碑：槽位中的任务已被remove，消费者出队时跳过
+	 */
+	private static final Runnable TOMBSTONE = () -> {
+	};
+
+	private final int capacity;
+
+	private final int mask;
+
+	private final AtomicLongArray sequences;
+
+	private final AtomicReferenceArray<Runnable> items;
+
+	private final AtomicLong enqueuePos = new AtomicLong();
+
+	private final AtomicLong dequeuePos = new AtomicLong();
+
+	/**
+	 * 已移除但槽位尚未被消费者跳过的任务数
+	 */
+	private final AtomicInteger tombstoneCnt = new AtomicInteger();
+
+	/**
+	 * 挂起等待任务的工作线程
+	 */
+	private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * 挂起等待空位的生产者
+	 */
+	private final Queue<Thread> producerWaiters = new ConcurrentLinkedQueue<>();
+
+	RingTaskQueue(int capacity) {
+		int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+		this.capacity = size;
+		this.mask = size - 1;
+		this.sequences = new AtomicLongArray(size);
+		this.items = new AtomicReferenceArray<>(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	@Override
+	public boolean offer(Runnable runnable) {
+		if (runnable == null) {
+			throw new NullPointerException();
+		}
+		long pos = enqueuePos.get();
+		while (true) {
+			int index = (int) (pos & mask);
+			long dif = sequences.get(index) - pos;
+			if (dif == 0) {
+				if (enqueuePos.compareAndSet(pos, pos + 1)) {
+					items.lazySet(index, runnable);
+					sequences.set(index, pos + 1);
+					signal(waiters);
+					return true;
+				}
+				pos = enqueuePos.get();
+			} else if (dif < 0) {
+				// 槽位尚未被上一圈的消费者释放：队列已满
+				return false;
+			} else {
+				pos = enqueuePos.get();
+			}
+		}
+	}
+
+	@Override
+	public Runnable poll() {
+		long pos = dequeuePos.get();
+		while (true) {
+			int index = (int) (pos & mask);
+			long dif = sequences.get(index) - (pos + 1);
+			if (dif == 0) {
+				if (dequeuePos.compareAndSet(pos, pos + 1)) {
+					// 与remove的墓碑CAS竞争，只有一方取得任务
+					Runnable runnable = items.getAndSet(index, null);
+					sequences.set(index, pos + capacity);
+					signal(producerWaiters);
+					if (runnable != TOMBSTONE) {
+						return runnable;
+					}
+					tombstoneCnt.decrementAndGet();
+				}
+				pos = dequeuePos.get();
+			} else if (dif < 0) {
+				// 槽位尚未被本圈的生产者发布：队列为空
+				return null;
+			} else {
+				pos = dequeuePos.get();
+			}
+		}
+	}
+
+	@Override
+	public Runnable peek() {
+		long end = enqueuePos.get();
+		for (long pos = dequeuePos.get(); pos < end; pos++) {
+			int index = (int) (pos & mask);
+			Runnable runnable = items.get(index);
+			if (runnable != null && runnable != TOMBSTONE && sequences.get(index) == pos + 1) {
+				return runnable;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void put(Runnable runnable) throws InterruptedException {
+		awaitSpace(runnable, false, 0L);
+	}
+
+	@Override
+	public boolean offer(Runnable runnable, long timeout, TimeUnit unit) throws InterruptedException {
+		return awaitSpace(runnable, true, unit.toNanos(timeout));
+	}
+
+	@Override
+	public Runnable take() throws InterruptedException {
+		return awaitTask(false, 0L);
+	}
+
+	@Override
+	public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+		return awaitTask(true, unit.toNanos(timeout));
+	}
+
+	/**
+	 * 近似值：并发出入队及移除时只保证落在[0, capacity]内
+	 */
+	@Override
+	public int size() {
+		long size = enqueuePos.get() - dequeuePos.get() - tombstoneCnt.get();
+		return (int) Math.max(0L, Math.min(size, capacity));
+	}
+
+	/**
+	 * 跳过墓碑判断，避免线程池因只剩已移除的任务而认为队列非空(如关闭时无法终止)
+	 */
+	@Override
+	public boolean isEmpty() {
+		return peek() == null;
+	}
+
+	@Override
+	public int remainingCapacity() {
+		return capacity - size();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o == null) {
+			return false;
+		}
+		long end = enqueuePos.get();
+		for (long pos = dequeuePos.get(); pos < end; pos++) {
+			int index = (int) (pos & mask);
+			Runnable runnable = items.get(index);
+			if (runnable != null && runnable != TOMBSTONE && o.equals(runnable)
+					&& items.compareAndSet(index, runnable, TOMBSTONE)) {
+				tombstoneCnt.incrementAndGet();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int drainTo(Collection<? super Runnable> c) {
+		return drainTo(c, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public int drainTo(Collection<? super Runnable> c, int maxElements) {
+		if (c == this) {
+			throw new IllegalArgumentException();
+		}
+		int drained = 0;
+		Runnable runnable;
+		while (drained < maxElements && (runnable = poll()) != null) {
+			c.add(runnable);
+			drained++;
+		}
+		return drained;
+	}
+
+	/**
+	 * 弱一致迭代器：遍历调用时的快照，remove作用于队列本身
+	 */
+	@Override
+	public Iterator<Runnable> iterator() {
+		List<Runnable> snapshot = Lists.newArrayList();
+		long end = enqueuePos.get();
+		for (long pos = dequeuePos.get(); pos < end; pos++) {
+			int index = (int) (pos & mask);
+			Runnable runnable = items.get(index);
+			if (runnable != null && runnable != TOMBSTONE && sequences.get(index) == pos + 1) {
+				snapshot.add(runnable);
+			}
+		}
+		return new Iterator<Runnable>() {
+
+			private int cursor;
+
+			private Runnable last;
+
+			@Override
+			public boolean hasNext() {
+				return cursor < snapshot.size();
+			}
+
+			@Override
+			public Runnable next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				last = snapshot.get(cursor++);
+				return last;
+			}
+
+			@Override
+			public void remove() {
+				if (last == null) {
+					throw new IllegalStateException();
+				}
+				RingTaskQueue.this.remove(last);
+				last = null;
+			}
+		};
+	}
+
+	/**
+	 * 等待任务：先自旋让出，再登记为等待者挂起；登记后重新检查一次，避免与生产者的唤醒错过
+	 */
+	private Runnable awaitTask(boolean timed, long nanos) throws InterruptedException {
+		long deadline = timed ? System.nanoTime() + nanos : 0L;
+		Thread current = Thread.currentThread();
+		for (int spin = 0; ; spin++) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			Runnable runnable = poll();
+			if (runnable != null) {
+				return runnable;
+			}
+			if (spin < SPIN_TRIES) {
+				Thread.yield();
+				continue;
+			}
+			long remaining = deadline - System.nanoTime();
+			if (timed && remaining <= 0) {
+				return null;
+			}
+			waiters.offer(current);
+			runnable = poll();
+			if (runnable != null) {
+				leave(waiters, current);
+				return runnable;
+			}
+			park(timed, remaining);
+			waiters.remove(current);
+		}
+	}
+
+	/**
+	 * 等待空位入队，与{@link #awaitTask(boolean, long)}对称：消费者出队后唤醒一个等待的生产者
+	 *
+	 * @return false: 超时仍无空位
+	 */
+	private boolean awaitSpace(Runnable runnable, boolean timed, long nanos) throws InterruptedException {
+		if (runnable == null) {
+			throw new NullPointerException();
+		}
+		long deadline = timed ? System.nanoTime() + nanos : 0L;
+		Thread current = Thread.currentThread();
+		for (int spin = 0; ; spin++) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			if (offer(runnable)) {
+				return true;
+			}
+			if (spin < SPIN_TRIES) {
+				Thread.yield();
+				continue;
+			}
+			long remaining = deadline - System.nanoTime();
+			if (timed && remaining <= 0) {
+				return false;
+			}
+			producerWaiters.offer(current);
+			if (offer(runnable)) {
+				leave(producerWaiters, current);
+				return true;
+			}
+			park(timed, remaining);
+			producerWaiters.remove(current);
+		}
+	}
+
+	private void park(boolean timed, long remaining) {
+		if (timed) {
+			LockSupport.parkNanos(this, remaining);
+		} else {
+			LockSupport.park(this);
+		}
+	}
+
+	/**
+	 * 登记后未挂起即成功：已被他人出队说明唤醒落到了当前线程，转给下一个等待者
+	 */
+	private static void leave(Queue<Thread> queue, Thread current) {
+		if (!queue.remove(current)) {
+			signal(queue);
+		}
+	}
+
+	/**
+	 * 唤醒一个等待者，无等待者时只有一次volatile读
+	 */
+	private static void signal(Queue<Thread> queue) {
+		if (queue.isEmpty()) {
+			return;
+		}
+		Thread waiter = queue.poll();
+		if (waiter != null) {
+			LockSupport.unpark(waiter);
+		}
+	}
+}
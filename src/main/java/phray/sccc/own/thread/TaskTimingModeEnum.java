@@ -0,0 +1,46 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 任务耗时统计模式
+ *
+ * @author Phray
+ * @Version TaskTimingModeEnum.java, v 0.1 2026-10-17 16:05 Sccc Exp $
+ * @see TaskTimingRecorder
+ */
+@Getter
+@AllArgsConstructor
+public enum TaskTimingModeEnum {
+
+	/**
+	 * 关闭
+	 */
+	OFF("OFF", "关闭"),
+
+	/**
+	 * 按1/N采样
+	 */
+	SAMPLED("SAMPLED", "采样"),
+
+	/**
+	 * 只统计超过阈值的慢任务
+	 */
+	SLOW_ONLY("SLOW_ONLY", "慢任务"),
+	;
+
+	/**
+	 * 标识码
+	 */
+	private final String code;
+
+	/**
+	 * 描述
+	 */
+	private final String desc;
+}
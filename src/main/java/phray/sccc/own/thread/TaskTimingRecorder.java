@@ -0,0 +1,142 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+import phray.sccc.own.log.LoggerUtil;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 任务耗时统计：按任务描述(desc)聚合，周期性输出汇总日志，替代每个任务一行INFO日志
+ * <p>
+ * 耗时取自{@link BaseJob}的start/end时间戳，记录路径无分配(desc首次出现除外)、无锁；
+ * desc应为低基数的业务名，不要拼接请求级参数
+ * </p>
+ *
+ * @author Phray
+ * @Version TaskTimingRecorder.java, v 0.1 2026-10-17 16:12 Sccc Exp $
+ */
+@Slf4j
+public final class TaskTimingRecorder {
+
+	/**
+	 * 汇总输出周期(second)
+	 */
+	private static final long FLUSH_INTERVAL_SECONDS = 60L;
+
+	/**
+	 * 统计模式
+	 */
+	private static volatile TaskTimingModeEnum mode = TaskTimingModeEnum.SAMPLED;
+
+	/**
+	 * 采样率：每N个任务统计1个
+	 */
+	private static volatile int sampleRate = 64;
+
+	/**
+	 * 慢任务阈值(ns)
+	 */
+	private static volatile long slowThresholdNanos = TimeUnit.SECONDS.toNanos(1L);
+
+	private static final ConcurrentMap<String, TimingStat> STATS = new ConcurrentHashMap<>();
+
+	static {
+		HelperScheduler.scheduleAtFixedRate(TaskTimingRecorder::flush, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+	}
+
+	private TaskTimingRecorder() {
+	}
+
+	/**
+	 * 调整统计模式
+	 *
+	 * @param timingMode          统计模式
+	 * @param rate                采样率(SAMPLED模式下每N个任务统计1个)
+	 * @param slowThresholdMillis 慢任务阈值(SLOW_ONLY模式)
+	 */
+	public static void configure(TaskTimingModeEnum timingMode, int rate, long slowThresholdMillis) {
+		Assert.notNull(timingMode, "统计模式不能为空!");
+		Assert.isTrue(rate > 0, "采样率必须大于0!");
+		mode = timingMode;
+		sampleRate = rate;
+		slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+	}
+
+	/**
+	 * 记录一次任务耗时
+	 *
+	 * @param desc  任务描述
+	 * @param nanos 耗时(ns)
+	 */
+	static void record(String desc, long nanos) {
+		switch (mode) {
+			case SAMPLED:
+				int rate = sampleRate;
+				if (rate > 1 && ThreadLocalRandom.current().nextInt(rate) != 0) {
+					return;
+				}
+				break;
+			case SLOW_ONLY:
+				if (nanos < slowThresholdNanos) {
+					return;
+				}
+				break;
+			default:
+				return;
+		}
+		String key = Objects.isNull(desc) ? "DEFAULT" : desc;
+		TimingStat stat = STATS.get(key);
+		if (Objects.isNull(stat)) {
+			stat = STATS.computeIfAbsent(key, k -> new TimingStat());
+		}
+		stat.record(nanos);
+	}
+
+	/**
+	 * 输出并重置各desc的汇总
+	 */
+	static void flush() {
+		for (Map.Entry<String, TimingStat> entry : STATS.entrySet()) {
+			TimingStat stat = entry.getValue();
+			long count = stat.count.sumThenReset();
+			long sumNanos = stat.sumNanos.sumThenReset();
+			long maxNanos = stat.maxNanos.getThenReset();
+			if (count == 0) {
+				continue;
+			}
+			LoggerUtil.info(log, "任务: [%s] - 模式: [%s], 统计数: [%d], 平均耗时: [%.2f]ms, 最大耗时: [%.2f]ms",
+					entry.getKey(), mode.getCode(), count,
+					sumNanos / 1_000_000D / count, maxNanos / 1_000_000D);
+		}
+	}
+
+	/**
+	 * 单个desc的汇总
+	 */
+	private static final class TimingStat {
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder sumNanos = new LongAdder();
+
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+		private void record(long nanos) {
+			count.increment();
+			sumNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+		}
+	}
+}
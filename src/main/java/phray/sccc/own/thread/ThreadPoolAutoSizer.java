@@ -0,0 +1,159 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.extern.slf4j.Slf4j;
+import phray.sccc.own.log.LoggerUtil;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 线程池自适应调整：后台周期采样，按利特尔法则(Little's Law)估算所需线程数，并在配置范围内调整core/max
+ * <p>
+ * 估算方式 -
+ * 忙碌线程数 L = λ * W，λ为采样周期内的任务完成速率，W为平均执行耗时(已包含IO阻塞时间，
+ * 等价于{@link ThreadPoolEnum}中"CPU核数 / (1 - 阻塞系数)"的估算，但阻塞系数来自实测)；
+ * 另加消化当前积压队列所需的线程数(队列长度 * W / 采样周期)，再除以目标利用率预留余量。
+ * 扩容立即生效，缩容每次只回收一半差值，且排队明显时不缩容，避免抖动
+ * </p>
+ * 调整范围：core ∈ [max(coreCnt, minAliveCnt), autoSizeMaxCnt]，max = max(maxCnt, core)
+ *
+ * @author Phray
+ * @Version ThreadPoolAutoSizer.java, v 0.1 2026-10-17 13:40 Sccc Exp $
+ */
+@Slf4j
+class ThreadPoolAutoSizer {
+
+	/**
+	 * 采样周期(second)
+	 */
+	private static final long SAMPLE_INTERVAL_SECONDS = 5L;
+
+	/**
+	 * 目标利用率，预留排队余量
+	 */
+	private static final double TARGET_UTILIZATION = 0.75D;
+
+	/**
+	 * 排队耗时超过执行耗时的该比例时，视为存在排队压力，不缩容
+	 */
+	private static final double WAIT_PRESSURE_RATIO = 0.1D;
+
+	private final List<SizingState> states = new CopyOnWriteArrayList<>();
+
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	/**
+	 * 注册需要自适应调整的线程池
+	 *
+	 * @param executor 线程池
+	 */
+	void register(MonitoredThreadPoolExecutor executor) {
+		ThreadPoolEnum threadPoolEnum = executor.getThreadPoolEnum();
+		if (threadPoolEnum.getAutoSizeMaxCnt() <= 0 || ThreadTypeEnum.VIRTUAL == threadPoolEnum.getThreadType()) {
+			return;
+		}
+		states.add(new SizingState(executor));
+		if (started.compareAndSet(false, true)) {
+			HelperScheduler.scheduleAtFixedRate(this::sampleAll, SAMPLE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+		}
+	}
+
+	private void sampleAll() {
+		for (SizingState state : states) {
+			try {
+				state.sample();
+			} catch (Exception e) {
+				LoggerUtil.warn(log, e, "thread_pool: [%s] 自适应调整异常",
+						state.executor.getThreadPoolEnum().getCode());
+			}
+		}
+	}
+
+	/**
+	 * 单个线程池的采样状态(仅由调度线程访问)
+	 */
+	private static final class SizingState {
+
+		private final MonitoredThreadPoolExecutor executor;
+
+		private long lastNanos;
+
+		private long lastCompletedCnt;
+
+		private long lastRunNanos;
+
+		private long lastWaitNanos;
+
+		private SizingState(MonitoredThreadPoolExecutor executor) {
+			this.executor = executor;
+			this.lastNanos = System.nanoTime();
+			this.lastCompletedCnt = executor.getCompletedCnt();
+			this.lastRunNanos = executor.getRunNanos();
+			this.lastWaitNanos = executor.getWaitNanos();
+		}
+
+		private void sample() {
+			long now = System.nanoTime();
+			long completedCnt = executor.getCompletedCnt();
+			long runNanos = executor.getRunNanos();
+			long waitNanos = executor.getWaitNanos();
+
+			long intervalNanos = now - lastNanos;
+			long completed = completedCnt - lastCompletedCnt;
+			long run = runNanos - lastRunNanos;
+			long wait = waitNanos - lastWaitNanos;
+			lastNanos = now;
+			lastCompletedCnt = completedCnt;
+			lastRunNanos = runNanos;
+			lastWaitNanos = waitNanos;
+
+			int queued = executor.getQueue().size();
+			int current = executor.getCorePoolSize();
+			int target;
+			if (completed <= 0) {
+				// 周期内无任务完成：有积压且线程全忙时说明任务耗时超过采样周期，翻倍扩容；否则空闲缩容
+				target = queued > 0 && executor.getActiveCount() >= current ? current * 2 : 0;
+			} else {
+				double avgRunNanos = (double) run / completed;
+				double busy = (double) run / intervalNanos;
+				double backlog = queued * avgRunNanos / intervalNanos;
+				target = (int) Math.ceil((busy + backlog) / TARGET_UTILIZATION);
+				if (target < current && wait > run * WAIT_PRESSURE_RATIO) {
+					target = current;
+				}
+			}
+			resize(target);
+		}
+
+		private void resize(int target) {
+			ThreadPoolEnum threadPoolEnum = executor.getThreadPoolEnum();
+			int current = executor.getCorePoolSize();
+			if (target < current) {
+				// 缩容只回收一半差值
+				target = current - (current - target) / 2;
+			}
+			int floor = Math.max(threadPoolEnum.getCoreCnt(), threadPoolEnum.getMinAliveCnt());
+			int core = Math.max(floor, Math.min(target, threadPoolEnum.getAutoSizeMaxCnt()));
+			if (core == current) {
+				return;
+			}
+			int max = Math.max(threadPoolEnum.getMaxCnt(), core);
+			if (core > current) {
+				// 扩容先调max，避免core > max
+				executor.setMaximumPoolSize(max);
+				executor.setCorePoolSize(core);
+			} else {
+				executor.setCorePoolSize(core);
+				executor.setMaximumPoolSize(max);
+			}
+			LoggerUtil.info(log, "thread_pool: [%s] 自适应调整 core: [%d] -> [%d], max: [%d]",
+					threadPoolEnum.getCode(), current, core, max);
+		}
+	}
+}
@@ -35,8 +35,44 @@ public enum ThreadPoolEnum {
 	 * 阻塞系数在0.8~0.9之间
 	 * </p>
 	 * n = Core数量
+	 * <p>
+	 * 阻塞系数难以预估时可改用{@link #ADAPTIVE}
+	 * </p>
+	 */
+	COMMON("COMMON", "通用", 4, 8, 512, new ThreadPoolExecutor.CallerRunsPolicy(), 60L,
+			ThreadTypeEnum.PLATFORM, 0, QueueTypeEnum.FIFO, 0),
+
+	/**
+	 * 优先级线程池，参数同{@link #COMMON}
+	 * <p>
+	 * 使用优先级队列：交互请求可设置较高的{@link BaseJob#getPriority()}，排在批量任务之前执行；
+	 * 未设置优先级时与先进先出一致
+	 * </p>
+	 */
+	PRIORITY("PRIORITY", "优先级", 4, 8, 512, new ThreadPoolExecutor.CallerRunsPolicy(), 60L,
+			ThreadTypeEnum.PLATFORM, 0, QueueTypeEnum.PRIORITY, 0),
+
+	/**
+	 * 自适应线程池，参数同{@link #COMMON}
+	 * <p>
+	 * 由{@link ThreadPoolAutoSizer}按实测负载在[coreCnt, autoSizeMaxCnt]内调整核心线程数，适用于阻塞系数难以预估的任务
+	 * </p>
+	 */
+	ADAPTIVE("ADAPTIVE", "自适应", 4, 8, 512, new ThreadPoolExecutor.CallerRunsPolicy(), 60L,
+			ThreadTypeEnum.PLATFORM, 64, QueueTypeEnum.FIFO, 0),
+
+	/**
+	 * 虚拟线程池，用于大量阻塞型(RPC/DB)扇出任务
+	 * <p>
+	 * 每个任务运行在虚拟线程上，阻塞时不占用OS线程；
+	 * maxCnt即为最大并发上限(同时在途的任务数)，超出部分进入队列等待，
+	 * 虚拟线程模式下核心线程数与最大线程数一致，均取maxCnt；
+	 * 运行时不支持虚拟线程(如JDK8)时回退为平台线程，线程数按CPU核数估算且不超过maxCnt，不会创建maxCnt个OS线程；
+	 * 大量工作线程同时出队，使用入队/出队分离加锁的链表队列，减少与提交线程的锁竞争
+	 * </p>
 	 */
-	COMMON("COMMON", "通用", 4, 8, 512, new ThreadPoolExecutor.CallerRunsPolicy(), 60L);
+	VIRTUAL("VIRTUAL", "虚拟线程", 1024, 1024, 4096, new ThreadPoolExecutor.CallerRunsPolicy(), 60L,
+			ThreadTypeEnum.VIRTUAL, 0, QueueTypeEnum.LINKED, 0);
 
 	/**
 	 * 标识码
@@ -72,4 +108,37 @@ public enum ThreadPoolEnum {
 	 * 空闲线程存活时间(second)
 	 */
 	private final Long keepAliveTime;
+
+	/**
+	 * 工作线程类型
+	 */
+	private final ThreadTypeEnum threadType;
+
+	/**
+	 * 自适应调整时核心线程数上限，0表示不开启自适应调整(默认)，按线程池单独开启
+	 *
+	 * @see ThreadPoolAutoSizer
+	 */
+	private final int autoSizeMaxCnt;
+
+	/**
+	 * 任务队列类型
+	 *
+	 * @see QueueTypeEnum
+	 */
+	private final QueueTypeEnum queueType;
+
+	/**
+	 * 常驻线程数，0(默认)表示不预热、核心线程空闲超时后回收，按线程池单独开启；
+	 * >0时应用启动时创建线程池并预启动该数量的线程，且核心线程不再空闲回收(核心线程数不低于该值)
+	 *
+	 * @see ThreadPoolHelper#afterSingletonsInstantiated()
+	 */
+	private final int minAliveCnt;
+
+	ThreadPoolEnum(String code, String desc, int coreCnt, int maxCnt, int queueSize,
+				   RejectedExecutionHandler handler, Long keepAliveTime) {
+		this(code, desc, coreCnt, maxCnt, queueSize, handler, keepAliveTime, ThreadTypeEnum.PLATFORM, 0,
+				QueueTypeEnum.FIFO, 0);
+	}
 }
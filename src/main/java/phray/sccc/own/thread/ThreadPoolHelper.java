@@ -5,22 +5,30 @@
 package phray.sccc.own.thread;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import phray.sccc.own.exception.BizException;
 import phray.sccc.own.exception.ErrorCodeEnum;
 import phray.sccc.own.log.LoggerUtil;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
 
 /**
  * 多线程服务辅助类，包装批处理任务，对外提供统一执行入口
@@ -30,46 +38,65 @@ import java.util.concurrent.atomic.AtomicReference;
  */
 @Slf4j
 @Component
-public class ThreadPoolHelper {
+public class ThreadPoolHelper implements SmartInitializingSingleton {
 
 	/**
-	 * 线程池Map<ThreadPoolEnum.code(String), ThreadPoolExecutor>
+	 * 线程池数组，下标为{@link ThreadPoolEnum#ordinal()}
 	 *
 	 * @see ThreadPoolEnum
 	 * @see java.util.concurrent.ThreadPoolExecutor
 	 */
-	private final Map<String, ThreadPoolExecutor> executorMap = Maps.newConcurrentMap();
+	private final AtomicReferenceArray<MonitoredThreadPoolExecutor> executors =
+			new AtomicReferenceArray<>(ThreadPoolEnum.values().length);
+
+	/**
+	 * 线程池自适应调整
+	 */
+	private final ThreadPoolAutoSizer autoSizer = new ThreadPoolAutoSizer();
+
+	/**
+	 * 业务隔离舱，key为bizName
+	 */
+	private final ConcurrentHashMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
 
 	// < ========== Init ThreadPoolExecutor ========== begin>
 
 	/**
-	 * 创建executor，使用双重检查，并设置线程默认为【守护线程】，设置默认【允许核心线程Timeout】
+	 * 获取executor，并设置线程默认为【守护线程】，设置默认【允许核心线程Timeout】
+	 * <p>
+	 * 命中路径仅一次按枚举下标的volatile读，无锁无哈希；
+	 * 未命中时创建后CAS发布，并发创建失败的一方直接丢弃(线程池的线程均为懒启动，丢弃无额外开销)
+	 * </p>
 	 *
 	 * @param threadPoolEnum 线程池枚举
 	 * @return executor
 	 */
-	public ThreadPoolExecutor getExecutor(ThreadPoolEnum threadPoolEnum) {
-		if (!executorMap.containsKey(threadPoolEnum.getCode())) {
-			synchronized (ThreadPoolHelper.class) {
-				// Double Check
-				if (!executorMap.containsKey(threadPoolEnum.getCode())) {
-
-					ThreadPoolExecutor executor = doGetExecutor(threadPoolEnum);
-					executorMap.put(threadPoolEnum.getCode(), executor);
+	public MonitoredThreadPoolExecutor getExecutor(ThreadPoolEnum threadPoolEnum) {
+		MonitoredThreadPoolExecutor executor = executors.get(threadPoolEnum.ordinal());
+		if (Objects.nonNull(executor)) {
+			return executor;
+		}
+		return registerExecutor(threadPoolEnum);
+	}
 
-					LoggerUtil.info(log, "Create thread_pool: [%s], core: [%d], max: [%d], queueSize: [%d]",
-							threadPoolEnum.getDesc(),
-							threadPoolEnum.getCoreCnt(), threadPoolEnum.getMaxCnt(),
-							threadPoolEnum.getQueueSize());
-				} else {
-					LoggerUtil.debug(log, "[Concurrent Created]");
-				}
-			}
+	private MonitoredThreadPoolExecutor registerExecutor(ThreadPoolEnum threadPoolEnum) {
+		MonitoredThreadPoolExecutor executor = doGetExecutor(threadPoolEnum);
+		if (!executors.compareAndSet(threadPoolEnum.ordinal(), null, executor)) {
+			LoggerUtil.debug(log, "[Concurrent Created]");
+			executor.shutdown();
+			return executors.get(threadPoolEnum.ordinal());
 		}
-		return executorMap.get(threadPoolEnum.getCode());
+
+		LoggerUtil.info(log, "Create thread_pool: [%s], type: [%s], core: [%d], max: [%d], queue: [%s], queueSize: [%d]",
+				threadPoolEnum.getDesc(), threadPoolEnum.getThreadType().getCode(),
+				executor.getCorePoolSize(), executor.getMaximumPoolSize(),
+				threadPoolEnum.getQueueType().getCode(), threadPoolEnum.getQueueSize());
+		executor.getMetrics().registerMBean();
+		autoSizer.register(executor);
+		return executor;
 	}
 
-	private ThreadPoolExecutor doGetExecutor(ThreadPoolEnum threadPoolEnum) {
+	private MonitoredThreadPoolExecutor doGetExecutor(ThreadPoolEnum threadPoolEnum) {
 		ThreadFactoryBuilder builder = createThreadFactoryBuilder(threadPoolEnum);
 		return createExecutor(threadPoolEnum, builder);
 	}
@@ -78,27 +105,118 @@ public class ThreadPoolHelper {
 		ThreadFactoryBuilder builder = new ThreadFactoryBuilder();
 		builder.setNameFormat(threadPoolEnum.getCode() + "_%d");
 		builder.setDaemon(true);
+		if (ThreadTypeEnum.VIRTUAL == threadPoolEnum.getThreadType()) {
+			if (VirtualThreadSupport.isSupported()) {
+				builder.setThreadFactory(VirtualThreadSupport.factory());
+			} else {
+				LoggerUtil.warn(log, "thread_pool: [%s] 当前JDK不支持虚拟线程, 回退为平台线程, 线程数: [%d]",
+						threadPoolEnum.getCode(),
+						VirtualThreadSupport.fallbackPlatformCnt(threadPoolEnum.getMaxCnt()));
+			}
+		}
 		return builder;
 	}
 
-	private ThreadPoolExecutor createExecutor(ThreadPoolEnum threadPoolEnum, ThreadFactoryBuilder builder) {
-		ThreadPoolExecutor executor = doCreateExecutor(threadPoolEnum, builder);
-		executor.allowCoreThreadTimeOut(true);
+	private MonitoredThreadPoolExecutor createExecutor(ThreadPoolEnum threadPoolEnum, ThreadFactoryBuilder builder) {
+		MonitoredThreadPoolExecutor executor = doCreateExecutor(threadPoolEnum, builder);
+		// 配置了常驻线程时核心线程不空闲回收
+		executor.allowCoreThreadTimeOut(threadPoolEnum.getMinAliveCnt() <= 0);
 		return executor;
 	}
 
-	private ThreadPoolExecutor doCreateExecutor(ThreadPoolEnum threadPoolEnum, ThreadFactoryBuilder builder) {
-		return new ThreadPoolExecutor(
-				threadPoolEnum.getCoreCnt(), threadPoolEnum.getMaxCnt(),
+	private MonitoredThreadPoolExecutor doCreateExecutor(ThreadPoolEnum threadPoolEnum, ThreadFactoryBuilder builder) {
+		int coreCnt = Math.max(threadPoolEnum.getCoreCnt(), threadPoolEnum.getMinAliveCnt());
+		int maxCnt = threadPoolEnum.getMaxCnt();
+		if (ThreadTypeEnum.VIRTUAL == threadPoolEnum.getThreadType()) {
+			// 虚拟线程无需复用昂贵的OS线程，maxCnt仅作为并发上限，直接以maxCnt作为核心线程数，避免任务先排队；
+			// 不支持虚拟线程时按平台线程估算线程数，避免创建maxCnt个OS线程
+			coreCnt = VirtualThreadSupport.isSupported()
+					? maxCnt : VirtualThreadSupport.fallbackPlatformCnt(maxCnt);
+			maxCnt = coreCnt;
+		}
+		return new MonitoredThreadPoolExecutor(threadPoolEnum,
+				coreCnt, maxCnt,
 				threadPoolEnum.getKeepAliveTime(), TimeUnit.SECONDS,
-				new ArrayBlockingQueue<>(threadPoolEnum.getQueueSize()),
+				createWorkQueue(threadPoolEnum),
 				builder.build(),
 				threadPoolEnum.getHandler()
 		);
 	}
 
+	private BlockingQueue<Runnable> createWorkQueue(ThreadPoolEnum threadPoolEnum) {
+		switch (threadPoolEnum.getQueueType()) {
+			case PRIORITY:
+				return new PriorityTaskQueue(threadPoolEnum.getQueueSize());
+			case LINKED:
+				return new LinkedBlockingQueue<>(threadPoolEnum.getQueueSize());
+			case SYNCHRONOUS:
+				return new SynchronousQueue<>();
+			case RING:
+				return new RingTaskQueue(threadPoolEnum.getQueueSize());
+			default:
+				return new ArrayBlockingQueue<>(threadPoolEnum.getQueueSize());
+		}
+	}
+
+	/**
+	 * 应用启动(全部单例创建完成)后预热配置了常驻线程的线程池
+	 *
+	 * @see ThreadPoolEnum#getMinAliveCnt()
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		for (ThreadPoolEnum threadPoolEnum : ThreadPoolEnum.values()) {
+			if (threadPoolEnum.getMinAliveCnt() > 0) {
+				prewarm(threadPoolEnum);
+			}
+		}
+	}
+
+	/**
+	 * 预热线程池：创建线程池，预启动常驻线程(未配置时预启动1个)，并执行一个空任务加载执行路径上的类
+	 *
+	 * @param threadPoolEnum 线程池枚举
+	 */
+	public void prewarm(ThreadPoolEnum threadPoolEnum) {
+		long begin = System.nanoTime();
+		MonitoredThreadPoolExecutor executor = getExecutor(threadPoolEnum);
+		int threadCnt = Math.min(Math.max(1, threadPoolEnum.getMinAliveCnt()), executor.getCorePoolSize());
+		for (int i = executor.getPoolSize(); i < threadCnt; i++) {
+			if (!executor.prestartCoreThread()) {
+				break;
+			}
+		}
+		try {
+			runBatchTask(Collections.singletonList(new BaseInnerRun("PREWARM") {
+				@Override
+				protected void doRun() {
+				}
+			}), "PREWARM", threadPoolEnum);
+		} catch (RuntimeException e) {
+			LoggerUtil.warn(log, e, "thread_pool: [%s] 预热任务执行异常", threadPoolEnum.getCode());
+		}
+		LoggerUtil.info(log, "Prewarm thread_pool: [%s], threads: [%d], cost: [%d]ms", threadPoolEnum.getCode(),
+				executor.getPoolSize(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+	}
+
 	// < ========== Init ThreadPoolExecutor ========== end>
 
+	/**
+	 * 注册业务隔离舱：之后该bizName的runBatchTask/doExecute/runBatchTasksWithCallback任务
+	 * 在共享线程池内受并发数与等待数限制，同名重复注册时替换(已提交的任务仍按原配置释放)
+	 *
+	 * @param bizName 业务名
+	 * @param config  隔离舱配置
+	 */
+	public void registerBulkhead(String bizName, BulkheadConfig config) {
+		Assert.notNull(bizName, "bizName不能为空!");
+		Assert.isTrue(config.getMaxConcurrent() > 0, "maxConcurrent必须大于0!");
+		Bulkhead bulkhead = new Bulkhead(bizName, config);
+		bulkheads.put(bizName, bulkhead);
+		bulkhead.registerMBean();
+		LoggerUtil.info(log, "Register bulkhead: [%s], %s", bizName, config);
+	}
+
 	/**
 	 * 批量执行Runnable任务
 	 *
@@ -107,29 +225,134 @@ public class ThreadPoolHelper {
 	 * @param threadPoolEnum
 	 */
 	public void runBatchTask(List<BaseInnerRun> runnableTasks, String bizName, ThreadPoolEnum threadPoolEnum) {
+		runBatchTask(runnableTasks, bizName, threadPoolEnum, false);
+	}
+
+	/**
+	 * 批量执行Runnable任务，可选快速失败
+	 *
+	 * @param runnableTasks  任务列表
+	 * @param bizName        业务名
+	 * @param threadPoolEnum 线程池枚举
+	 * @param failFast       是否快速失败
+	 * @see BatchOptions#isFailFast()
+	 */
+	public void runBatchTask(List<BaseInnerRun> runnableTasks, String bizName, ThreadPoolEnum threadPoolEnum,
+							 boolean failFast) {
+		runBatchTask(runnableTasks, bizName, threadPoolEnum, BatchOptions.builder().failFast(failFast).build());
+	}
+
+	/**
+	 * 批量执行Runnable任务
+	 * <p>
+	 * failFast: 首个任务异常后立即唤醒主线程，未开始的任务被丢弃，运行中的任务被中断，异常直接抛给调用方;
+	 * chunked: 只提交线程池并行度个执行单元，由执行单元循环领取任务，避免大列表撑满队列后在调用线程执行
+	 * timeoutMillis: 整批截止时间，到达时取消剩余任务并抛出异常，未开始的任务不再执行
+	 * </p>
+	 *
+	 * @param runnableTasks  任务列表
+	 * @param bizName        业务名
+	 * @param threadPoolEnum 线程池枚举
+	 * @param options        执行选项
+	 */
+	public void runBatchTask(List<BaseInnerRun> runnableTasks, String bizName, ThreadPoolEnum threadPoolEnum,
+							 BatchOptions options) {
+		runBatchTaskWithSummary(runnableTasks, bizName, threadPoolEnum, options);
+	}
+
+	/**
+	 * 批量执行Runnable任务，返回执行摘要
+	 *
+	 * @param runnableTasks  任务列表
+	 * @param bizName        业务名
+	 * @param threadPoolEnum 线程池枚举
+	 * @return 批任务执行摘要(排队/执行耗时)
+	 */
+	public BatchSummary runBatchTaskWithSummary(List<BaseInnerRun> runnableTasks, String bizName,
+												ThreadPoolEnum threadPoolEnum) {
+		return runBatchTaskWithSummary(runnableTasks, bizName, threadPoolEnum, BatchOptions.defaults());
+	}
+
+	/**
+	 * 批量执行Runnable任务，返回执行摘要，执行选项同{@link #runBatchTask(List, String, ThreadPoolEnum, BatchOptions)}
+	 *
+	 * @param runnableTasks  任务列表
+	 * @param bizName        业务名
+	 * @param threadPoolEnum 线程池枚举
+	 * @param options        执行选项
+	 * @return 批任务执行摘要(排队/执行耗时)
+	 */
+	public BatchSummary runBatchTaskWithSummary(List<BaseInnerRun> runnableTasks, String bizName,
+												ThreadPoolEnum threadPoolEnum, BatchOptions options) {
 		if (CollectionUtils.isEmpty(runnableTasks)) {
-			return;
+			return BatchSummary.of(bizName, Collections.emptyList(), System.nanoTime());
 		}
-		// 1-获取executor
-		ThreadPoolExecutor executor = getExecutor(threadPoolEnum);
+		long beginNanos = System.nanoTime();
+		boolean failFast = options.isFailFast();
+		// 整批截止时间(可空)
+		Deadline deadline = options.getTimeoutMillis() > 0
+				? Deadline.after(options.getTimeoutMillis(), TimeUnit.MILLISECONDS) : null;
+		// 上下文快照(批内共享)
+		ContextSnapshot context = ContextSnapshot.capture();
+		// 1-获取executor、业务隔离舱
+		MonitoredThreadPoolExecutor executor = getExecutor(threadPoolEnum);
+		Bulkhead bulkhead = bulkheads.get(bizName);
 		// 2-创建cdl，Count=任务列表size
 		CountDownLatch innerLatch = new CountDownLatch(runnableTasks.size());
 		// 3-错误标识
 		AtomicBoolean errorFlag = new AtomicBoolean();
 		// 4-异常(这里抛出异常是为了在主线程中抓住，主要目的是抛到主线程，具体异常会在线程中打印出来)
 		AtomicReference<RuntimeException> errorRef = new AtomicReference<>();
-		// 5-提交任务
-		for (BaseInnerRun task : runnableTasks) {
-			fillTaskAttr(innerLatch, errorFlag, errorRef, task);
-			executor.execute(task);
+		// 5-提交任务(快速失败/分片模式下保留Future用于取消)
+		List<Future<?>> futures = Lists.newArrayList();
+		if (options.isChunked()) {
+			checkChunkable(runnableTasks);
+			for (BaseInnerRun task : runnableTasks) {
+				fillTaskAttr(innerLatch, errorFlag, errorRef, deadline, context, task);
+				task.setFailFast(failFast);
+			}
+			futures.addAll(submitChunked(executor, bulkhead, runnableTasks, (task, index) -> task.run(),
+					() -> failFast && errorFlag.get(), options));
+		} else {
+			// 嵌套扇出时需保留Future，以便在当前线程执行未开始的子任务；超时时需保留Future用于取消
+			boolean keepFuture = failFast || Objects.nonNull(deadline) || executor.isCurrentThreadWorker();
+			int submitted = 0;
+			try {
+				for (BaseInnerRun task : runnableTasks) {
+					if (failFast && errorFlag.get()) {
+						break;
+					}
+					fillTaskAttr(innerLatch, errorFlag, errorRef, deadline, context, task);
+					task.setFailFast(failFast);
+					if (keepFuture) {
+						futures.add(submit(executor, bulkhead, task, options));
+					} else if (task.getTimeoutMillis() > 0) {
+						// 单任务超时由JobFutureTask计时
+						submit(executor, bulkhead, task, options);
+					} else {
+						dispatch(executor, bulkhead, task, options);
+					}
+					submitted++;
+				}
+			} catch (BizException e) {
+				onSubmitRejected(e, innerLatch, runnableTasks.size() - submitted, errorFlag, errorRef);
+			}
 		}
 
 		try {
 			LoggerUtil.info(log, "[%s]_running_task: [%d], queued_task: [%d]",
 					threadPoolEnum.getCode(), executor.getActiveCount(), executor.getQueue().size());
-			innerLatch.await();
+			helpIfNested(executor, futures, () -> failFast && errorFlag.get());
+			if (Objects.isNull(deadline)) {
+				innerLatch.await();
+			} else if (!innerLatch.await(deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+				cancelAll(futures);
+				throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, "异步任务[%s]执行超时, Timeout: [%s], TimeUnit: [%s]",
+						bizName, options.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+			}
 
 			if (errorFlag.get()) {
+				cancelAll(futures);
 				throw errorRef.get();
 			}
 		} catch (RuntimeException e) {
@@ -139,6 +362,10 @@ public class ThreadPoolHelper {
 			LoggerUtil.error(log, e, "[%s]: 未知异常, 请检查!", bizName);
 			throw new BizException(ErrorCodeEnum.UNKNOWN_EXCEPTION, e, "[%s]: 未知异常, 请检查!", bizName);
 		}
+
+		BatchSummary summary = BatchSummary.of(bizName, runnableTasks, beginNanos);
+		LoggerUtil.debug(log, "[%s]: %s", bizName, summary);
+		return summary;
 	}
 
 	/**
@@ -155,38 +382,148 @@ public class ThreadPoolHelper {
 		}
 
 		ThreadPoolExecutor executor = getExecutor(threadPoolEnum);
+		task.setContext(ContextSnapshot.capture());
 		return executor.submit(task);
 	}
 
+	/**
+	 * 按key串行执行任务：相同key的任务按提交顺序依次执行，不同key并行执行，返回{@link Future}
+	 * <p>
+	 * 任务内不要同步等待同一key的后续任务，否则会自我死锁
+	 * </p>
+	 *
+	 * @param key            串行key(如账户ID)，需正确实现equals/hashCode
+	 * @param task           任务
+	 * @param threadPoolEnum 线程池枚举
+	 * @param <R>            结果类型
+	 * @return Future
+	 */
+	public <R> Future<R> runKeyedCallableTask(Object key, BaseInnerCall<R> task, ThreadPoolEnum threadPoolEnum) {
+		Assert.notNull(key, "key不能为空!");
+		JobFutureTask<R> future = new JobFutureTask<>(task);
+		runKeyed(key, task, future, threadPoolEnum);
+		return future;
+	}
+
+	/**
+	 * 按key串行执行Runnable任务
+	 *
+	 * @param key            串行key(如账户ID)，需正确实现equals/hashCode
+	 * @param task           任务
+	 * @param threadPoolEnum 线程池枚举
+	 * @return Future
+	 * @see #runKeyedCallableTask(Object, BaseInnerCall, ThreadPoolEnum)
+	 */
+	public Future<?> runKeyedTask(Object key, BaseInnerRun task, ThreadPoolEnum threadPoolEnum) {
+		Assert.notNull(key, "key不能为空!");
+		JobFutureTask<?> future = new JobFutureTask<>(task, null);
+		runKeyed(key, task, future, threadPoolEnum);
+		return future;
+	}
+
+	private void runKeyed(Object key, BaseJob task, JobFutureTask<?> future, ThreadPoolEnum threadPoolEnum) {
+		task.setContext(ContextSnapshot.capture());
+		task.setSubmitNanos(System.nanoTime());
+		getExecutor(threadPoolEnum).getKeyedLanes().execute(key, future);
+	}
+
+	/**
+	 * 创建请求合并加载器：窗口内的单key请求合并为一次批量调用，在指定线程池内执行
+	 *
+	 * @param bizName        业务名
+	 * @param threadPoolEnum 线程池枚举
+	 * @param options        合并选项(批大小、等待窗口、去重)
+	 * @param batchLoader    批量函数，入参为本批key列表，返回key -> 结果
+	 * @param <K>            key类型
+	 * @param <V>            结果类型
+	 * @return 请求合并加载器(线程安全，通常作为单例持有)
+	 */
+	public <K, V> CoalescingLoader<K, V> newCoalescingLoader(String bizName, ThreadPoolEnum threadPoolEnum,
+															 CoalescingOptions options,
+															 Function<List<K>, Map<K, V>> batchLoader) {
+		Assert.notNull(bizName, "bizName不能为空!");
+		Assert.notNull(batchLoader, "batchLoader不能为空!");
+		Assert.isTrue(options.getMaxBatchSize() > 0, "maxBatchSize必须大于0!");
+		return new CoalescingLoader<>(bizName, getExecutor(threadPoolEnum), options, batchLoader);
+	}
+
 	public <R> R runBatchTasksWithCallback(List<BaseInnerCall<R>> callableTasks,
 										   CallableTaskProcessService<R> processService,
 										   int timeout, TimeUnit unit,
 										   String bizName, ThreadPoolEnum threadPoolEnum) {
+		return runBatchTasksWithCallback(callableTasks, processService, timeout, unit, bizName, threadPoolEnum,
+				BatchOptions.defaults());
+	}
+
+	/**
+	 * 批量执行Callable任务，按提交顺序合并结果
+	 * <p>
+	 * hedgePolicy: 任务超过触发时间仍未完成时再执行一次，先完成者胜出，用于压低长尾(任务需幂等)
+	 * </p>
+	 *
+	 * @param callableTasks  任务列表
+	 * @param processService 结果处理器
+	 * @param timeout        超时时间
+	 * @param unit           超时时间单位
+	 * @param bizName        业务名
+	 * @param threadPoolEnum 线程池枚举
+	 * @param options        执行选项
+	 * @param <R>            结果类型
+	 * @return 合并后的结果
+	 */
+	public <R> R runBatchTasksWithCallback(List<BaseInnerCall<R>> callableTasks,
+										   CallableTaskProcessService<R> processService,
+										   int timeout, TimeUnit unit,
+										   String bizName, ThreadPoolEnum threadPoolEnum,
+										   BatchOptions options) {
 		// 1-初始化返回数据
 		processService.init();
 		if (CollectionUtils.isEmpty(callableTasks)) {
 			return processService.get();
 		}
 
-		// 2-获取executor
-		ThreadPoolExecutor executor = getExecutor(threadPoolEnum);
+		// 2-获取executor，整批截止时间(等待发令枪与逐个获取结果共用，总等待时间不超过timeout)
+		MonitoredThreadPoolExecutor executor = getExecutor(threadPoolEnum);
+		Bulkhead bulkhead = bulkheads.get(bizName);
+		Deadline deadline = Deadline.after(timeout, unit);
+		ContextSnapshot context = ContextSnapshot.capture();
+		if (options.isChunked()) {
+			checkChunkable(callableTasks);
+			return runChunkedWithCallback(callableTasks, processService, deadline, context, timeout, unit, bizName,
+					executor, bulkhead, options);
+		}
 		// 2-创建cdl，Count=任务列表size
 		CountDownLatch innerLatch = new CountDownLatch(callableTasks.size());
 		// 3-错误标识
 		AtomicBoolean errorFlag = new AtomicBoolean();
 		// 4-异常(这里抛出异常是为了在主线程中抓住，主要目的是抛到主线程，具体异常会在线程中打印出来)
 		AtomicReference<RuntimeException> errorRef = new AtomicReference<>();
-		// 5-提交任务
+		// 5-提交任务(开启对冲时包装为可对冲任务)
+		HedgeBatch hedgeBatch = Objects.isNull(options.getHedgePolicy())
+				? null : new HedgeBatch(executor, options.getHedgePolicy(), callableTasks.size());
 		List<Future<R>> futureWrapper = Lists.newLinkedList();
-		for (BaseInnerCall<R> task : callableTasks) {
-			fillTaskAttr(innerLatch, errorFlag, errorRef, task);
-			futureWrapper.add(executor.submit(task));
+		try {
+			for (BaseInnerCall<R> task : callableTasks) {
+				fillTaskAttr(innerLatch, errorFlag, errorRef, deadline, context, task);
+				task.setFailFast(options.isFailFast());
+				if (Objects.isNull(hedgeBatch)) {
+					futureWrapper.add(submit(executor, bulkhead, task, options));
+				} else {
+					HedgedCall<R> future = new HedgedCall<>(task, hedgeBatch);
+					dispatch(executor, bulkhead, future, options);
+					futureWrapper.add(future);
+				}
+			}
+		} catch (BizException e) {
+			onSubmitRejected(e, innerLatch, callableTasks.size() - futureWrapper.size(), errorFlag, errorRef);
 		}
 
 		try {
 			LoggerUtil.info(log, "[%s]_running_task: [%d], queued_task: [%d]",
 					threadPoolEnum.getCode(), executor.getActiveCount(), executor.getQueue().size());
-			if (!innerLatch.await(timeout, unit)) {
+			helpIfNested(executor, futureWrapper, () -> options.isFailFast() && errorFlag.get());
+			if (!innerLatch.await(deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+				cancelAll(futureWrapper);
 				throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, "异步任务[%s]执行超时, Timeout: [%s], TimeUnit: [%s]",
 						bizName, timeout, unit);
 			}
@@ -194,9 +531,15 @@ public class ThreadPoolHelper {
 			LoggerUtil.error(log, e, "[%s]: 异步执行被中断!", bizName);
 		}
 
+		if ((options.isFailFast() || options.isBackpressure()) && errorFlag.get()) {
+			cancelAll(futureWrapper);
+			LoggerUtil.error(log, errorRef.get(), "[%s]: 执行异常!", bizName);
+			throw errorRef.get();
+		}
+
 		for (Future<R> future : futureWrapper) {
 			try {
-				R curResult = future.get(timeout, unit);
+				R curResult = future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
 				if (errorFlag.get()) {
 					throw errorRef.get();
 				}
@@ -205,6 +548,7 @@ public class ThreadPoolHelper {
 				LoggerUtil.error(log, e, "[%s]: 执行异常!", bizName);
 				throw e;
 			} catch (TimeoutException e) {
+				cancelAll(futureWrapper);
 				LoggerUtil.error(log, e, "[%s]: 执行超时!", bizName);
 				throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, e, "[%s]: 执行超时!", bizName);
 			} catch (Exception e) {
@@ -216,25 +560,788 @@ public class ThreadPoolHelper {
 		return processService.get();
 	}
 
+	/**
+	 * 按完成顺序合并结果：任务完成即在调用线程{@link CallableTaskProcessService#fill(Object)}，
+	 * 整批共用一个截止时间，总耗时≈最慢任务 + 少量合并尾延迟
+	 *
+	 * @param callableTasks  任务列表
+	 * @param processService 结果处理器
+	 * @param timeout        整批超时时间
+	 * @param unit           超时时间单位
+	 * @param bizName        业务名
+	 * @param threadPoolEnum 线程池枚举
+	 * @param <R>            结果类型
+	 * @return 合并后的结果
+	 */
+	public <R> R runBatchTasksInCompletionOrder(List<BaseInnerCall<R>> callableTasks,
+												CallableTaskProcessService<R> processService,
+												int timeout, TimeUnit unit,
+												String bizName, ThreadPoolEnum threadPoolEnum) {
+		// 1-初始化返回数据
+		processService.init();
+		if (CollectionUtils.isEmpty(callableTasks)) {
+			return processService.get();
+		}
+
+		// 2-获取executor，整批截止时间
+		MonitoredThreadPoolExecutor executor = getExecutor(threadPoolEnum);
+		Deadline deadline = Deadline.after(timeout, unit);
+		ContextSnapshot context = ContextSnapshot.capture();
+		// 3-错误标识
+		AtomicBoolean errorFlag = new AtomicBoolean();
+		// 4-异常
+		AtomicReference<RuntimeException> errorRef = new AtomicReference<>();
+		// 5-提交任务，任务完成时放入完成队列(同ExecutorCompletionService，但任务本身可被嵌套调用方直接执行)
+		BlockingQueue<Future<R>> completionQueue = new LinkedBlockingQueue<>();
+		List<Future<R>> futures = Lists.newArrayListWithCapacity(callableTasks.size());
+		for (BaseInnerCall<R> task : callableTasks) {
+			fillTaskAttr(null, errorFlag, errorRef, deadline, context, task);
+			JobFutureTask<R> future = new JobFutureTask<R>(task) {
+				@Override
+				protected void done() {
+					super.done();
+					completionQueue.add(this);
+				}
+			};
+			futures.add(future);
+			executor.execute(future);
+		}
+
+		try {
+			helpIfNested(executor, futures, errorFlag::get);
+			for (int i = 0; i < futures.size(); i++) {
+				Future<R> future = completionQueue.poll(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+				if (Objects.isNull(future)) {
+					throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, "异步任务[%s]执行超时, Timeout: [%s], TimeUnit: [%s]",
+							bizName, timeout, unit);
+				}
+				R curResult = future.get();
+				if (errorFlag.get()) {
+					throw errorRef.get();
+				}
+				processService.fill(curResult);
+			}
+		} catch (RuntimeException e) {
+			cancelAll(futures);
+			LoggerUtil.error(log, e, "[%s]: 执行异常!", bizName);
+			throw e;
+		} catch (InterruptedException e) {
+			cancelAll(futures);
+			Thread.currentThread().interrupt();
+			LoggerUtil.error(log, e, "[%s]: 异步执行被中断!", bizName);
+			throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, e, "[%s]: 异步执行被中断!", bizName);
+		} catch (Exception e) {
+			cancelAll(futures);
+			LoggerUtil.error(log, e, "[%s]: 未知异常, 请检查!", bizName);
+			throw new BizException(ErrorCodeEnum.UNKNOWN_EXCEPTION, e, "[%s]: 未知异常, 请检查!", bizName);
+		}
+
+		return processService.get();
+	}
+
+	/**
+	 * 流式执行Callable任务：返回按完成顺序逐个产出结果的迭代器，适用于结果总量大、需边产出边写出的场景(如导出)
+	 * <p>
+	 * 同时在途(执行中 + 已完成未消费)的任务不超过maxInFlight，每消费一个结果再提交一个任务，
+	 * 堆上最多保留maxInFlight个结果；tasks为惰性Iterable时任务也按需创建。
+	 * 迭代器需在单个线程内消费，提前结束时需关闭(推荐try-with-resources)
+	 * </p>
+	 *
+	 * @param tasks          任务源
+	 * @param maxInFlight    最大在途任务数
+	 * @param timeout        整批超时时间，<=0表示不超时
+	 * @param unit           超时时间单位
+	 * @param bizName        业务名
+	 * @param threadPoolEnum 线程池枚举
+	 * @param <R>            结果类型
+	 * @return 结果迭代器
+	 */
+	public <R> BatchResultIterator<R> runBatchTasksStreaming(Iterable<? extends BaseInnerCall<R>> tasks,
+															 int maxInFlight, long timeout, TimeUnit unit,
+															 String bizName, ThreadPoolEnum threadPoolEnum) {
+		Assert.notNull(tasks, "tasks不能为空!");
+		Assert.isTrue(maxInFlight > 0, "maxInFlight必须大于0!");
+		Deadline deadline = timeout > 0 ? Deadline.after(timeout, unit) : null;
+		return new BatchResultIterator<>(bizName, getExecutor(threadPoolEnum), bulkheads.get(bizName),
+				tasks.iterator(), maxInFlight, deadline);
+	}
+
+	/**
+	 * 并行树形归约：任务两两完成后即在线程池内合并部分结果，调用方只等待最终结果
+	 *
+	 * @param callableTasks  任务列表
+	 * @param combiner       结果合并器(需满足结合律与交换律)
+	 * @param timeout        整批超时时间
+	 * @param unit           超时时间单位
+	 * @param bizName        业务名
+	 * @param threadPoolEnum 线程池枚举
+	 * @param <R>            结果类型
+	 * @return 合并后的最终结果
+	 */
+	public <R> R runBatchTasksWithCombiner(List<BaseInnerCall<R>> callableTasks,
+										   CallableTaskCombiner<R> combiner,
+										   int timeout, TimeUnit unit,
+										   String bizName, ThreadPoolEnum threadPoolEnum) {
+		if (CollectionUtils.isEmpty(callableTasks)) {
+			return combiner.empty();
+		}
+
+		// 1-获取executor，整批截止时间
+		MonitoredThreadPoolExecutor executor = getExecutor(threadPoolEnum);
+		Deadline deadline = Deadline.after(timeout, unit);
+		ContextSnapshot context = ContextSnapshot.capture();
+		// 2-错误标识
+		AtomicBoolean errorFlag = new AtomicBoolean();
+		// 3-异常
+		AtomicReference<RuntimeException> errorRef = new AtomicReference<>();
+		// 4-提交任务，任务完成时将结果交给归约器
+		ParallelReducer<R> reducer = new ParallelReducer<>(executor::executeNoInline, combiner, callableTasks.size());
+		List<Future<R>> futures = Lists.newArrayListWithCapacity(callableTasks.size());
+		for (BaseInnerCall<R> task : callableTasks) {
+			fillTaskAttr(null, errorFlag, errorRef, deadline, context, task);
+			FutureTask<R> future = new JobFutureTask<R>(task) {
+				@Override
+				protected void done() {
+					super.done();
+					if (isCancelled()) {
+						return;
+					}
+					if (errorFlag.get()) {
+						reducer.fail(errorRef.get());
+						return;
+					}
+					try {
+						reducer.offer(get());
+					} catch (Exception e) {
+						reducer.fail(new BizException(ErrorCodeEnum.ASYNC_EXEC_EXCEPTION, e, "[%s]: 执行异常!", bizName));
+					}
+				}
+			};
+			futures.add(future);
+			executor.execute(future);
+		}
+
+		try {
+			helpIfNested(executor, futures, () -> reducer.result().isDone());
+			return reducer.await(deadline.remainingNanos());
+		} catch (TimeoutException e) {
+			cancelAll(futures);
+			LoggerUtil.error(log, e, "[%s]: 执行超时!", bizName);
+			throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, e, "[%s]: 执行超时!", bizName);
+		} catch (ExecutionException e) {
+			cancelAll(futures);
+			LoggerUtil.error(log, e.getCause(), "[%s]: 执行异常!", bizName);
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new BizException(ErrorCodeEnum.UNKNOWN_EXCEPTION, e.getCause(), "[%s]: 未知异常, 请检查!", bizName);
+		} catch (InterruptedException e) {
+			cancelAll(futures);
+			Thread.currentThread().interrupt();
+			LoggerUtil.error(log, e, "[%s]: 异步执行被中断!", bizName);
+			throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, e, "[%s]: 异步执行被中断!", bizName);
+		}
+	}
+
+	/**
+	 * 分片执行Callable任务：执行单元按下标领取任务并写入结果数组，全部完成后按提交顺序合并
+	 */
+	private <R> R runChunkedWithCallback(List<BaseInnerCall<R>> callableTasks,
+										 CallableTaskProcessService<R> processService,
+										 Deadline deadline, ContextSnapshot context,
+										 int timeout, TimeUnit unit, String bizName,
+										 MonitoredThreadPoolExecutor executor, Bulkhead bulkhead,
+										 BatchOptions options) {
+		boolean failFast = options.isFailFast();
+		// 结果写入后再countDown，保证主线程被唤醒时结果可见
+		CountDownLatch innerLatch = new CountDownLatch(callableTasks.size());
+		AtomicBoolean errorFlag = new AtomicBoolean();
+		AtomicReference<RuntimeException> errorRef = new AtomicReference<>();
+		AtomicBoolean stopFlag = new AtomicBoolean();
+		AtomicReferenceArray<R> results = new AtomicReferenceArray<>(callableTasks.size());
+		for (BaseInnerCall<R> task : callableTasks) {
+			fillTaskAttr(null, errorFlag, errorRef, deadline, context, task);
+		}
+		List<Future<?>> futures = submitChunked(executor, bulkhead, callableTasks, (task, index) -> {
+			results.set(index, task.call());
+			if (failFast && errorFlag.get()) {
+				stopFlag.set(true);
+				while (innerLatch.getCount() > 0) {
+					innerLatch.countDown();
+				}
+				return;
+			}
+			innerLatch.countDown();
+		}, stopFlag::get, options);
+
+		try {
+			helpIfNested(executor, futures, stopFlag::get);
+			if (!innerLatch.await(deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+				throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, "异步任务[%s]执行超时, Timeout: [%s], TimeUnit: [%s]",
+						bizName, timeout, unit);
+			}
+			if (errorFlag.get()) {
+				throw errorRef.get();
+			}
+		} catch (RuntimeException e) {
+			stopFlag.set(true);
+			cancelAll(futures);
+			LoggerUtil.error(log, e, "[%s]: 执行异常!", bizName);
+			throw e;
+		} catch (InterruptedException e) {
+			stopFlag.set(true);
+			cancelAll(futures);
+			Thread.currentThread().interrupt();
+			LoggerUtil.error(log, e, "[%s]: 异步执行被中断!", bizName);
+			throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, e, "[%s]: 异步执行被中断!", bizName);
+		}
+
+		for (int i = 0; i < results.length(); i++) {
+			processService.fill(results.get(i));
+		}
+		return processService.get();
+	}
+
+	/**
+	 * 分片模式下执行单元直接调用任务，没有单任务的执行Future，不支持单任务超时
+	 *
+	 * @param tasks 任务列表
+	 * @throws BizException 任务设置了{@link BaseJob#getTimeoutMillis()}
+	 */
+	private void checkChunkable(List<? extends BaseJob> tasks) {
+		for (BaseJob task : tasks) {
+			if (task.getTimeoutMillis() > 0) {
+				throw new BizException(ErrorCodeEnum.ILLEGAL_ARGUMENT, "分片模式不支持单任务超时, 任务: [%s], Timeout: [%d]ms",
+						task.getDesc(), task.getTimeoutMillis());
+			}
+		}
+	}
+
+	/**
+	 * 分片提交：执行单元数 = min(任务数, 线程池最大线程数)，各单元共享游标领取任务
+	 * <p>
+	 * 背压模式下后续执行单元拿不到许可时不再提交，已提交的执行单元会领完全部任务；
+	 * 第一个执行单元都拿不到许可时直接抛出
+	 * </p>
+	 *
+	 * @param executor 线程池
+	 * @param bulkhead 业务隔离舱(可空)
+	 * @param items    任务列表
+	 * @param action   任务执行动作(任务, 下标)
+	 * @param stop     停止条件
+	 * @param options  执行选项
+	 * @param <T>      任务类型
+	 * @return 执行单元的Future列表
+	 */
+	private <T> List<Future<?>> submitChunked(MonitoredThreadPoolExecutor executor, Bulkhead bulkhead, List<T> items,
+											  ObjIntConsumer<T> action, BooleanSupplier stop,
+											  BatchOptions options) {
+		int unitCnt = Math.min(items.size(), Math.max(1, executor.getMaximumPoolSize()));
+		AtomicInteger cursor = new AtomicInteger();
+		List<Future<?>> futures = Lists.newArrayListWithCapacity(unitCnt);
+		for (int i = 0; i < unitCnt; i++) {
+			try {
+				futures.add(submit(executor, bulkhead, new IndexDrainer<>(items, cursor, action, stop), options));
+			} catch (BizException e) {
+				if (futures.isEmpty()) {
+					throw e;
+				}
+				break;
+			}
+		}
+		return futures;
+	}
+
+	/**
+	 * 包装为{@link JobFutureTask}后提交
+	 *
+	 * @param executor 线程池
+	 * @param bulkhead 业务隔离舱(可空)
+	 * @param task     任务
+	 * @param options  执行选项
+	 * @param <R>      结果类型
+	 * @return Future
+	 */
+	private <R> Future<R> submit(MonitoredThreadPoolExecutor executor, Bulkhead bulkhead, Callable<R> task,
+								 BatchOptions options) {
+		JobFutureTask<R> future = new JobFutureTask<>(task);
+		dispatch(executor, bulkhead, future, options);
+		return future;
+	}
+
+	private Future<?> submit(MonitoredThreadPoolExecutor executor, Bulkhead bulkhead, Runnable task,
+							 BatchOptions options) {
+		JobFutureTask<?> future = new JobFutureTask<>(task, null);
+		dispatch(executor, bulkhead, future, options);
+		return future;
+	}
+
+	/**
+	 * 提交任务：配置了业务隔离舱时由隔离舱限流后提交(优先于背压)；
+	 * 开启背压时先在截止时间内获取在途许可，超时抛出{@link BizException}
+	 *
+	 * @param executor 线程池
+	 * @param bulkhead 业务隔离舱(可空)
+	 * @param command  任务
+	 * @param options  执行选项
+	 */
+	private void dispatch(MonitoredThreadPoolExecutor executor, Bulkhead bulkhead, Runnable command,
+						  BatchOptions options) {
+		if (Objects.nonNull(bulkhead)) {
+			bulkhead.execute(executor, command);
+			return;
+		}
+		// 嵌套扇出时不在工作线程上阻塞等待许可，避免占满许可的子任务与等待许可的工作线程互相等待
+		if (options.isBackpressure() && !executor.isCurrentThreadWorker()) {
+			executor.executeWithPermit(command, options.getPermitTimeoutMillis(), TimeUnit.MILLISECONDS);
+		} else {
+			executor.execute(command);
+		}
+	}
+
+	/**
+	 * 提交被拒绝(背压超时)：记录异常，并为未提交的任务countDown，已提交的任务结束后由主线程抛出
+	 *
+	 * @param e              拒绝异常
+	 * @param innerLatch     发令枪
+	 * @param unsubmittedCnt 未提交的任务数
+	 * @param errorFlag      异常标识
+	 * @param errorRef       异常引用
+	 */
+	private void onSubmitRejected(RuntimeException e, CountDownLatch innerLatch, int unsubmittedCnt,
+								  AtomicBoolean errorFlag, AtomicReference<RuntimeException> errorRef) {
+		errorRef.compareAndSet(null, e);
+		errorFlag.set(true);
+		for (int i = 0; i < unsubmittedCnt; i++) {
+			innerLatch.countDown();
+		}
+	}
+
+	// < ========== Async(CompletableFuture) ========== begin>
+
+	/**
+	 * 异步执行单个任务，任务完成时完成返回的CompletableFuture，不占用等待线程
+	 * <p>
+	 * 任务异常统一转换为{@link BizException}；取消返回的CompletableFuture会同时取消任务
+	 * </p>
+	 *
+	 * @param task           任务
+	 * @param threadPoolEnum 线程池枚举
+	 * @param <R>            结果类型
+	 * @return CompletableFuture
+	 */
+	public <R> CompletableFuture<R> runCallableTaskAsync(BaseInnerCall<R> task, ThreadPoolEnum threadPoolEnum) {
+		Assert.notNull(task, "task不能为空!");
+		return this.<R, R>runBatchTasksAsync(Collections.singletonList(task), threadPoolEnum, 0, null,
+				task.getDesc(), futures -> futures.get(0).get());
+	}
+
+	/**
+	 * 异步执行单个任务，失败时按重试策略延迟后重新提交，退避等待由共享时间轮计时，不占用任何线程
+	 * <p>
+	 * 同一任务对象会被多次执行，doCall需幂等；设置了{@link BaseJob#getTimeoutMillis()}时对每次执行单独计时，
+	 * 超时也按失败处理，上一次执行的线程退出后才开始等待重试，同一任务对象不会并发执行。
+	 * 每次执行都以不内联方式提交，任务不会在时间轮线程上执行；被拒绝时按退避延迟推迟，
+	 * 超过{@link RetryPolicy#getMaxDeferrals()}次以{@link ErrorCodeEnum#THREAD_POOL_BUSY}失败。
+	 * 全部重试失败后以最后一次的异常完成；取消返回的CompletableFuture会停止重试并取消执行中的任务
+	 * </p>
+	 *
+	 * @param task           任务
+	 * @param threadPoolEnum 线程池枚举
+	 * @param policy         重试策略
+	 * @param <R>            结果类型
+	 * @return CompletableFuture
+	 */
+	public <R> CompletableFuture<R> runCallableTaskWithRetry(BaseInnerCall<R> task, ThreadPoolEnum threadPoolEnum,
+															 RetryPolicy policy) {
+		Assert.notNull(task, "task不能为空!");
+		Assert.notNull(policy, "policy不能为空!");
+		Assert.isTrue(policy.getMaxAttempts() > 0, "maxAttempts必须大于0!");
+		Assert.isTrue(policy.getMaxDeferrals() >= 0, "maxDeferrals不能小于0!");
+
+		MonitoredThreadPoolExecutor executor = getExecutor(threadPoolEnum);
+		task.setContext(ContextSnapshot.capture());
+		CompletableFuture<R> result = new CompletableFuture<>();
+		// 当前执行或等待中的重试的取消动作
+		AtomicReference<Runnable> canceller = new AtomicReference<>();
+		result.whenComplete((v, e) -> {
+			Runnable cancel = canceller.get();
+			if (result.isCancelled() && Objects.nonNull(cancel)) {
+				cancel.run();
+			}
+		});
+		submitAttempt(executor, task, policy, 1, 0, result, canceller);
+		return result;
+	}
+
+	/**
+	 * 提交第attempt次执行(可能在调用线程或时间轮线程上)，被拒绝时推迟
+	 *
+	 * @param deferrals 本次执行已推迟的次数
+	 */
+	private <R> void submitAttempt(MonitoredThreadPoolExecutor executor, BaseInnerCall<R> task, RetryPolicy policy,
+								   int attempt, int deferrals, CompletableFuture<R> result,
+								   AtomicReference<Runnable> canceller) {
+		if (result.isDone()) {
+			return;
+		}
+		JobFutureTask<R> future = new JobFutureTask<>(task);
+		future.onDone(() -> onAttemptDone(executor, task, policy, attempt, future, result, canceller));
+		canceller.set(() -> future.cancel(true));
+		try {
+			executor.executeNoInline(future);
+		} catch (RejectedExecutionException e) {
+			// 未执行：撤销超时登记，推迟或放弃
+			future.cancel(false);
+			if (executor.isShutdown() || deferrals >= policy.getMaxDeferrals()) {
+				result.completeExceptionally(new BizException(ErrorCodeEnum.THREAD_POOL_BUSY, e,
+						"任务: [%s] 第[%d]次执行提交被拒绝, 已推迟[%d]次, thread_pool: [%s]", task.getDesc(), attempt,
+						deferrals, executor.getThreadPoolEnum().getCode()));
+				return;
+			}
+			scheduleAttempt(executor, task, policy, attempt, deferrals + 1, result, canceller,
+					policy.backoffMillis(Math.max(attempt - 1, 1)));
+		} catch (RuntimeException e) {
+			result.completeExceptionally(e);
+		}
+	}
+
+	private <R> void onAttemptDone(MonitoredThreadPoolExecutor executor, BaseInnerCall<R> task, RetryPolicy policy,
+								   int attempt, JobFutureTask<R> future, CompletableFuture<R> result,
+								   AtomicReference<Runnable> canceller) {
+		RuntimeException error;
+		try {
+			result.complete(future.get());
+			return;
+		} catch (CancellationException e) {
+			// 调用方取消
+			return;
+		} catch (ExecutionException e) {
+			error = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+					: new BizException(ErrorCodeEnum.ASYNC_EXEC_EXCEPTION, e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			error = new BizException(ErrorCodeEnum.PROGRAM_ERROR, e, "线程中断");
+		}
+
+		// 生命周期异常包装了doCall抛出的原始异常，超时异常无cause
+		Throwable cause = Objects.isNull(error.getCause()) ? error : error.getCause();
+		if (attempt >= policy.getMaxAttempts() || !policy.getRetryOn().test(cause)) {
+			result.completeExceptionally(error);
+			return;
+		}
+		long delayMillis = policy.backoffMillis(attempt);
+		executor.getMetrics().recordRetry();
+		LoggerUtil.info(log, "任务: [%s] 第[%d]次执行失败, [%d]ms后重试: [%s]", task.getDesc(), attempt, delayMillis,
+				cause.getMessage());
+		// 超时取消时执行线程可能仍在任务内，退出后再计时
+		future.afterExit(() -> scheduleAttempt(executor, task, policy, attempt + 1, 0, result, canceller, delayMillis));
+	}
+
+	private <R> void scheduleAttempt(MonitoredThreadPoolExecutor executor, BaseInnerCall<R> task, RetryPolicy policy,
+									 int attempt, int deferrals, CompletableFuture<R> result,
+									 AtomicReference<Runnable> canceller, long delayMillis) {
+		HashedWheelTimer.Timeout timeout = HelperScheduler.newTimeout(
+				() -> submitAttempt(executor, task, policy, attempt, deferrals, result, canceller),
+				delayMillis, TimeUnit.MILLISECONDS);
+		canceller.set(timeout::cancel);
+		if (result.isDone()) {
+			timeout.cancel();
+		}
+	}
+
+	/**
+	 * 异步批量执行Runnable任务，全部完成时返回批任务执行摘要
+	 * <p>
+	 * 首个任务异常即以该异常完成并取消其余任务；超时由共享调度线程触发，不占用等待线程
+	 * </p>
+	 *
+	 * @param runnableTasks  任务列表
+	 * @param bizName        业务名
+	 * @param threadPoolEnum 线程池枚举
+	 * @param timeout        整批超时时间，<=0表示不超时
+	 * @param unit           超时时间单位
+	 * @return CompletableFuture
+	 */
+	public CompletableFuture<BatchSummary> runBatchTaskAsync(List<BaseInnerRun> runnableTasks, String bizName,
+															 ThreadPoolEnum threadPoolEnum,
+															 long timeout, TimeUnit unit) {
+		long beginNanos = System.nanoTime();
+		return runBatchTasksAsync(runnableTasks, threadPoolEnum, timeout, unit, bizName,
+				futures -> BatchSummary.of(bizName, runnableTasks, beginNanos));
+	}
+
+	/**
+	 * 异步批量执行Callable任务，全部完成后按提交顺序合并结果
+	 * <p>
+	 * {@link CallableTaskProcessService}在最后一个完成的任务线程上执行；
+	 * 返回的CompletableFuture的后续阶段默认也在该线程执行，较重的后续处理请使用*Async方法指定线程池
+	 * </p>
+	 *
+	 * @param callableTasks  任务列表
+	 * @param processService 结果处理器
+	 * @param timeout        整批超时时间，<=0表示不超时
+	 * @param unit           超时时间单位
+	 * @param bizName        业务名
+	 * @param threadPoolEnum 线程池枚举
+	 * @param <R>            结果类型
+	 * @return CompletableFuture
+	 */
+	public <R> CompletableFuture<R> runBatchTasksWithCallbackAsync(List<BaseInnerCall<R>> callableTasks,
+																   CallableTaskProcessService<R> processService,
+																   long timeout, TimeUnit unit,
+																   String bizName, ThreadPoolEnum threadPoolEnum) {
+		return this.<R, R>runBatchTasksAsync(callableTasks, threadPoolEnum, timeout, unit, bizName, futures -> {
+			processService.init();
+			for (Future<R> future : futures) {
+				processService.fill(future.get());
+			}
+			return processService.get();
+		});
+	}
+
+	/**
+	 * 异步批量执行：每个任务完成时递减计数，最后一个完成的任务线程负责汇总结果
+	 * <p>
+	 * 配置了业务隔离舱时经隔离舱提交；提交不会在调用线程上执行任务(忽略CallerRuns)，
+	 * 线程池或隔离舱已满时以{@link ErrorCodeEnum#THREAD_POOL_BUSY}/{@link ErrorCodeEnum#BULKHEAD_FULL}异常完成并取消已提交的任务
+	 * </p>
+	 *
+	 * @param tasks          任务列表
+	 * @param threadPoolEnum 线程池枚举
+	 * @param timeout        整批超时时间，<=0表示不超时
+	 * @param unit           超时时间单位
+	 * @param bizName        业务名
+	 * @param finisher       汇总函数(入参为全部已完成的Future)
+	 * @param <T>            任务结果类型
+	 * @param <V>            汇总结果类型
+	 * @return CompletableFuture
+	 */
+	private <T, V> CompletableFuture<V> runBatchTasksAsync(List<? extends BaseJob> tasks,
+														   ThreadPoolEnum threadPoolEnum,
+														   long timeout, TimeUnit unit, String bizName,
+														   AsyncFinisher<T, V> finisher) {
+		CompletableFuture<V> result = new CompletableFuture<>();
+		if (CollectionUtils.isEmpty(tasks)) {
+			completeQuietly(result, finisher, Collections.emptyList(), bizName);
+			return result;
+		}
+
+		MonitoredThreadPoolExecutor executor = getExecutor(threadPoolEnum);
+		Deadline deadline = timeout > 0 ? Deadline.after(timeout, unit) : null;
+		ContextSnapshot context = ContextSnapshot.capture();
+		AtomicBoolean errorFlag = new AtomicBoolean();
+		AtomicReference<RuntimeException> errorRef = new AtomicReference<>();
+		AtomicInteger remaining = new AtomicInteger(tasks.size());
+		List<Future<T>> futures = Lists.newArrayListWithCapacity(tasks.size());
+		for (BaseJob task : tasks) {
+			fillTaskAttr(null, errorFlag, errorRef, deadline, context, task);
+			JobFutureTask<T> future = this.<T>newJobFuture(task).onDone(() -> {
+				if (errorFlag.get()) {
+					result.completeExceptionally(errorRef.get());
+					return;
+				}
+				if (remaining.decrementAndGet() == 0) {
+					completeQuietly(result, finisher, futures, bizName);
+				}
+			});
+			futures.add(future);
+		}
+
+		// 完成(含超时/异常/调用方取消)时取消剩余任务
+		result.whenComplete((v, e) -> {
+			if (Objects.nonNull(e)) {
+				cancelAll(futures);
+			}
+		});
+		if (timeout > 0) {
+			HashedWheelTimer.Timeout timeoutFuture = HelperScheduler.newTimeout(() -> result.completeExceptionally(
+					new BizException(ErrorCodeEnum.PROGRAM_ERROR, "异步任务[%s]执行超时, Timeout: [%s], TimeUnit: [%s]",
+							bizName, timeout, unit)), timeout, unit);
+			result.whenComplete((v, e) -> timeoutFuture.cancel());
+		}
+
+		Bulkhead bulkhead = bulkheads.get(bizName);
+		// 被拒绝时先完成结果再抛出：隔离舱等待队列中的任务由其他线程提交，异常不会回到这里
+		Executor submitter = command -> {
+			try {
+				executor.executeNoInline(command);
+			} catch (RejectedExecutionException e) {
+				result.completeExceptionally(new BizException(ErrorCodeEnum.THREAD_POOL_BUSY, e,
+						"异步任务[%s]提交被拒绝, thread_pool: [%s]", bizName, threadPoolEnum.getCode()));
+				throw e;
+			}
+		};
+		for (Future<T> future : futures) {
+			if (result.isDone()) {
+				break;
+			}
+			try {
+				if (Objects.nonNull(bulkhead)) {
+					bulkhead.execute(submitter, (Runnable) future, false);
+				} else {
+					submitter.execute((Runnable) future);
+				}
+			} catch (RuntimeException e) {
+				result.completeExceptionally(e);
+				break;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 按任务类型(Callable/Runnable)创建{@link JobFutureTask}
+	 *
+	 * @param task 任务
+	 * @param <T>  结果类型，Runnable任务结果为null
+	 * @return JobFutureTask
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> JobFutureTask<T> newJobFuture(BaseJob task) {
+		if (task instanceof Callable) {
+			return new JobFutureTask<>((Callable<T>) task);
+		}
+		return new JobFutureTask<>((Runnable) task, null);
+	}
+
+	private <T, V> void completeQuietly(CompletableFuture<V> result, AsyncFinisher<T, V> finisher,
+										List<Future<T>> futures, String bizName) {
+		try {
+			result.complete(finisher.finish(futures));
+		} catch (RuntimeException e) {
+			result.completeExceptionally(e);
+		} catch (Exception e) {
+			result.completeExceptionally(
+					new BizException(ErrorCodeEnum.UNKNOWN_EXCEPTION, e, "[%s]: 未知异常, 请检查!", bizName));
+		}
+	}
+
+	/**
+	 * 异步批任务结果汇总函数
+	 */
+	@FunctionalInterface
+	private interface AsyncFinisher<T, V> {
+
+		V finish(List<Future<T>> futures) throws Exception;
+	}
+
+	// < ========== Async(CompletableFuture) ========== end>
+
+	/**
+	 * 嵌套扇出：调用线程本身是该线程池的工作线程时，不阻塞等待排队中的子任务，
+	 * 而是在当前线程直接执行尚未开始的子任务(FutureTask保证同一任务只执行一次，被工作线程取走的任务直接跳过)，
+	 * 之后只需等待已在其他工作线程上运行的子任务，避免工作线程全部阻塞在await上而子任务仍在队列中导致死锁
+	 *
+	 * @param executor 线程池
+	 * @param futures  子任务
+	 * @param stop     停止条件(如快速失败)
+	 */
+	private void helpIfNested(MonitoredThreadPoolExecutor executor, Collection<? extends Future<?>> futures,
+							  BooleanSupplier stop) {
+		if (!executor.isCurrentThreadWorker()) {
+			return;
+		}
+		for (Future<?> future : futures) {
+			if (stop.getAsBoolean()) {
+				return;
+			}
+			if (!future.isDone() && future instanceof RunnableFuture) {
+				((RunnableFuture<?>) future).run();
+			}
+		}
+	}
+
+	/**
+	 * 取消任务：未开始的任务不再执行，运行中的任务发送中断
+	 *
+	 * @param futures 任务Future列表
+	 */
+	private void cancelAll(Collection<? extends Future<?>> futures) {
+		for (Future<?> future : futures) {
+			future.cancel(true);
+		}
+	}
+
 	/**
 	 * Job基础属性填充
 	 *
 	 * @param innerLatch
 	 * @param errorFlag
 	 * @param errorRef
+	 * @param deadline   批次截止时间(可空)
+	 * @param context    批次上下文快照(批内共享)
 	 * @param task
 	 */
 	private void fillTaskAttr(CountDownLatch innerLatch, AtomicBoolean errorFlag,
-							  AtomicReference<RuntimeException> errorRef, BaseJob task) {
+							  AtomicReference<RuntimeException> errorRef, Deadline deadline,
+							  ContextSnapshot context, BaseJob task) {
+		task.setContext(context);
 		task.setCountDownLatch(innerLatch);
 		task.setErrorFlag(errorFlag);
 		task.setErrorReference(errorRef);
+		task.setDeadline(deadline);
+		task.setStartNanos(0L);
+		task.setEndNanos(0L);
+		task.setSubmitNanos(System.nanoTime());
 	}
 
+    /**
+     * 并行执行多个上下文函数，入参/出参共享
+     *
+     * @param execList       执行上下文列表
+     * @param threadPoolEnum 线程池枚举
+     * @param bizName        业务名
+     * @param req            入参
+     * @param resp           出参
+     * @param <Req>          入参类型
+     * @param <Resp>         出参类型
+     */
     public <Req, Resp> void doExecute(List<ExecContext<Req, Resp>> execList,
                                       ThreadPoolEnum threadPoolEnum,
                                       String bizName,
                                       Req req, Resp resp) {
+        doExecute(execList, threadPoolEnum, bizName, req, resp, BatchOptions.defaults());
+    }
+
+    /**
+     * 并行执行多个上下文函数，入参/出参共享；可通过{@link BatchOptions#getTimeoutMillis()}设置整批截止时间
+     *
+     * @param execList       执行上下文列表
+     * @param threadPoolEnum 线程池枚举
+     * @param bizName        业务名
+     * @param req            入参
+     * @param resp           出参
+     * @param options        执行选项
+     * @param <Req>          入参类型
+     * @param <Resp>         出参类型
+     */
+    public <Req, Resp> void doExecute(List<ExecContext<Req, Resp>> execList,
+                                      ThreadPoolEnum threadPoolEnum,
+                                      String bizName,
+                                      Req req, Resp resp,
+                                      BatchOptions options) {
+        doExecuteWithSummary(execList, threadPoolEnum, bizName, req, resp, options);
+    }
+
+    /**
+     * 并行执行多个上下文函数，返回执行摘要，参数同{@link #doExecute(List, ThreadPoolEnum, String, Object, Object, BatchOptions)}
+     *
+     * @param execList       执行上下文列表
+     * @param threadPoolEnum 线程池枚举
+     * @param bizName        业务名
+     * @param req            入参
+     * @param resp           出参
+     * @param options        执行选项
+     * @param <Req>          入参类型
+     * @param <Resp>         出参类型
+     * @return 批任务执行摘要
+     */
+    public <Req, Resp> BatchSummary doExecuteWithSummary(List<ExecContext<Req, Resp>> execList,
+                                                         ThreadPoolEnum threadPoolEnum,
+                                                         String bizName,
+                                                         Req req, Resp resp,
+                                                         BatchOptions options) {
         Assert.notEmpty(execList, "需要执行的上下文不能为空!");
         Assert.notNull(threadPoolEnum, "线程池枚举不能为空!");
         Assert.notNull(bizName, "bizName不能为空!");
@@ -251,7 +1358,119 @@ public class ThreadPoolHelper {
                 }
             });
         }
-        this.runBatchTask(runnableTasks, bizName, threadPoolEnum);
+        return this.runBatchTaskWithSummary(runnableTasks, bizName, threadPoolEnum, options);
+    }
+
+    /**
+     * 按依赖图执行多个上下文函数，入参/出参共享
+     *
+     * @param execList       执行上下文列表(节点)，通过{@link ExecContext#getDependsOn()}声明上游节点
+     * @param threadPoolEnum 线程池枚举
+     * @param bizName        业务名
+     * @param req            入参
+     * @param resp           出参
+     * @param <Req>          入参类型
+     * @param <Resp>         出参类型
+     * @return 依赖图执行摘要(各节点耗时与关键路径)
+     */
+    public <Req, Resp> DagSummary doExecuteGraph(List<ExecContext<Req, Resp>> execList,
+                                                 ThreadPoolEnum threadPoolEnum,
+                                                 String bizName,
+                                                 Req req, Resp resp) {
+        return doExecuteGraph(execList, threadPoolEnum, bizName, req, resp, BatchOptions.defaults());
+    }
+
+    /**
+     * 按依赖图执行多个上下文函数，入参/出参共享
+     * <p>
+     * 无上游的节点立即提交；节点结束后由执行线程直接提交已就绪(上游全部完成)的下游节点，不按阶段设置屏障。
+     * 任一节点异常或下游提交被拒绝时其余节点不再执行，主线程立即抛出该异常；节点函数为空时作为汇合节点(不执行任何逻辑)
+     * </p>
+     *
+     * @param execList       执行上下文列表(节点)，通过{@link ExecContext#getDependsOn()}声明上游节点
+     * @param threadPoolEnum 线程池枚举
+     * @param bizName        业务名
+     * @param req            入参
+     * @param resp           出参
+     * @param options        执行选项(timeoutMillis、backpressure生效)
+     * @param <Req>          入参类型
+     * @param <Resp>         出参类型
+     * @return 依赖图执行摘要(各节点耗时与关键路径)
+     */
+    public <Req, Resp> DagSummary doExecuteGraph(List<ExecContext<Req, Resp>> execList,
+                                                 ThreadPoolEnum threadPoolEnum,
+                                                 String bizName,
+                                                 Req req, Resp resp,
+                                                 BatchOptions options) {
+        Assert.notEmpty(execList, "需要执行的上下文不能为空!");
+        Assert.notNull(threadPoolEnum, "线程池枚举不能为空!");
+        Assert.notNull(bizName, "bizName不能为空!");
+
+        DagGraph<Req, Resp> graph = new DagGraph<>(execList);
+        long beginNanos = System.nanoTime();
+        MonitoredThreadPoolExecutor executor = getExecutor(threadPoolEnum);
+        Bulkhead bulkhead = bulkheads.get(bizName);
+        Deadline deadline = options.getTimeoutMillis() > 0
+                ? Deadline.after(options.getTimeoutMillis(), TimeUnit.MILLISECONDS) : null;
+        ContextSnapshot context = ContextSnapshot.capture();
+        CountDownLatch innerLatch = new CountDownLatch(graph.getNodes().size());
+        AtomicBoolean errorFlag = new AtomicBoolean();
+        AtomicReference<RuntimeException> errorRef = new AtomicReference<>();
+
+        for (DagGraph.Node<Req, Resp> node : graph.getNodes()) {
+            BaseInnerRun task = new BaseInnerRun(node.getName()) {
+                @Override
+                protected void doRun() {
+                    if (Objects.nonNull(node.getContext().getExecFunc())) {
+                        node.getContext().getExecFunc().accept(req, resp);
+                    }
+                }
+            };
+            fillTaskAttr(innerLatch, errorFlag, errorRef, deadline, context, task);
+            // 提交时才就绪，未提交的节点无就绪时间
+            task.setSubmitNanos(0L);
+            // 节点异常时立即释放发令枪，下游节点不再提交
+            task.setFailFast(true);
+            node.setTask(task);
+        }
+
+        DagRunner<Req, Resp> runner = new DagRunner<>(graph,
+                command -> dispatch(executor, bulkhead, command, options), innerLatch, errorFlag, errorRef);
+        Queue<Future<?>> futures = runner.getFutures();
+        try {
+            runner.start();
+        } catch (RuntimeException e) {
+            onSubmitRejected(e, innerLatch, graph.getNodes().size(), errorFlag, errorRef);
+        }
+
+        try {
+            if (executor.isCurrentThreadWorker()) {
+                runner.help(deadline);
+            }
+            if (Objects.isNull(deadline)) {
+                innerLatch.await();
+            } else if (!innerLatch.await(deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+                cancelAll(futures);
+                throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, "异步任务[%s]执行超时, Timeout: [%s], TimeUnit: [%s]",
+                        bizName, options.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (errorFlag.get()) {
+                cancelAll(futures);
+                throw errorRef.get();
+            }
+        } catch (RuntimeException e) {
+            LoggerUtil.error(log, e, "[%s]: 执行异常!", bizName);
+            throw e;
+        } catch (InterruptedException e) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            LoggerUtil.error(log, e, "[%s]: 异步执行被中断!", bizName);
+            throw new BizException(ErrorCodeEnum.PROGRAM_ERROR, e, "[%s]: 异步执行被中断!", bizName);
+        }
+
+        DagSummary summary = graph.summary(bizName, beginNanos);
+        LoggerUtil.debug(log, "[%s]: %s", bizName, summary);
+        return summary;
     }
 
 }
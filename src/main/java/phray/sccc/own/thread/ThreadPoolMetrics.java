@@ -0,0 +1,258 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.extern.slf4j.Slf4j;
+import phray.sccc.own.log.LoggerUtil;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程池指标，计数均为{@link LongAdder}/{@link LatencyHistogram}，记录路径无锁
+ *
+ * @author Phray
+ * @Version ThreadPoolMetrics.java, v 0.1 2026-10-17 14:40 Sccc Exp $
+ */
+@Slf4j
+public class ThreadPoolMetrics implements ThreadPoolMetricsMXBean {
+
+	/**
+	 * JMX域
+	 */
+	private static final String JMX_DOMAIN = "phray.sccc.own.thread";
+
+	private final String poolCode;
+
+	private final LatencyHistogram queueWait = new LatencyHistogram();
+
+	private final LatencyHistogram exec = new LatencyHistogram();
+
+	private final LongAdder rejectedCnt = new LongAdder();
+
+	private final LongAdder callerRunsCnt = new LongAdder();
+
+	private final LongAdder failedCnt = new LongAdder();
+
+	private final LatencyHistogram permitWait = new LatencyHistogram();
+
+	private final LongAdder permitRejectedCnt = new LongAdder();
+
+	private final LongAdder hedgeLaunchedCnt = new LongAdder();
+
+	private final LongAdder hedgeWonCnt = new LongAdder();
+
+	private final LongAdder hedgeSkippedCnt = new LongAdder();
+
+	private final LongAdder retryCnt = new LongAdder();
+
+	private volatile ThreadPoolExecutor executor;
+
+	ThreadPoolMetrics(String poolCode) {
+		this.poolCode = poolCode;
+	}
+
+	void bind(ThreadPoolExecutor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * 注册到平台MBeanServer，同名已存在(如多个Spring上下文)时替换
+	 */
+	void registerMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(JMX_DOMAIN + ":type=ThreadPool,name=" + poolCode);
+			if (server.isRegistered(name)) {
+				LoggerUtil.warn(log, "thread_pool: [%s] MBean已存在, 替换为当前实例", poolCode);
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(this, name);
+		} catch (JMException e) {
+			LoggerUtil.warn(log, e, "thread_pool: [%s] MBean注册失败", poolCode);
+		}
+	}
+
+	void recordQueueWait(long nanos) {
+		queueWait.record(nanos);
+	}
+
+	void recordExec(long nanos) {
+		exec.record(nanos);
+	}
+
+	void recordRejected(boolean callerRuns) {
+		rejectedCnt.increment();
+		if (callerRuns) {
+			callerRunsCnt.increment();
+		}
+	}
+
+	void recordFailed() {
+		failedCnt.increment();
+	}
+
+	void recordPermitWait(long nanos, boolean acquired) {
+		permitWait.record(nanos);
+		if (!acquired) {
+			permitRejectedCnt.increment();
+		}
+	}
+
+	void recordHedgeLaunched() {
+		hedgeLaunchedCnt.increment();
+	}
+
+	void recordHedgeWon() {
+		hedgeWonCnt.increment();
+	}
+
+	void recordHedgeSkipped() {
+		hedgeSkippedCnt.increment();
+	}
+
+	void recordRetry() {
+		retryCnt.increment();
+	}
+
+	long getQueueWaitNanos() {
+		return queueWait.getSumNanos();
+	}
+
+	long getExecNanos() {
+		return exec.getSumNanos();
+	}
+
+	@Override
+	public double getQueueWaitP50Millis() {
+		return queueWait.percentileMillis(0.5D);
+	}
+
+	@Override
+	public double getQueueWaitP99Millis() {
+		return queueWait.percentileMillis(0.99D);
+	}
+
+	@Override
+	public double getQueueWaitMaxMillis() {
+		return queueWait.getMaxNanos() / 1_000_000D;
+	}
+
+	@Override
+	public long[] getQueueWaitHistogram() {
+		return queueWait.snapshot();
+	}
+
+	@Override
+	public double getExecP50Millis() {
+		return exec.percentileMillis(0.5D);
+	}
+
+	@Override
+	public double getExecP99Millis() {
+		return exec.percentileMillis(0.99D);
+	}
+
+	@Override
+	public double getExecMaxMillis() {
+		return exec.getMaxNanos() / 1_000_000D;
+	}
+
+	@Override
+	public long[] getExecHistogram() {
+		return exec.snapshot();
+	}
+
+	@Override
+	public long getRejectedCnt() {
+		return rejectedCnt.sum();
+	}
+
+	@Override
+	public long getCallerRunsCnt() {
+		return callerRunsCnt.sum();
+	}
+
+	@Override
+	public long getCompletedCnt() {
+		return exec.getCount();
+	}
+
+	@Override
+	public long getFailedCnt() {
+		return failedCnt.sum();
+	}
+
+	@Override
+	public double getPermitWaitP99Millis() {
+		return permitWait.percentileMillis(0.99D);
+	}
+
+	@Override
+	public double getPermitWaitMaxMillis() {
+		return permitWait.getMaxNanos() / 1_000_000D;
+	}
+
+	@Override
+	public long getPermitRejectedCnt() {
+		return permitRejectedCnt.sum();
+	}
+
+	@Override
+	public long getHedgeLaunchedCnt() {
+		return hedgeLaunchedCnt.sum();
+	}
+
+	@Override
+	public long getHedgeWonCnt() {
+		return hedgeWonCnt.sum();
+	}
+
+	@Override
+	public long getHedgeSkippedCnt() {
+		return hedgeSkippedCnt.sum();
+	}
+
+	@Override
+	public long getRetryCnt() {
+		return retryCnt.sum();
+	}
+
+	@Override
+	public int getInFlightCnt() {
+		return executor instanceof MonitoredThreadPoolExecutor
+				? ((MonitoredThreadPoolExecutor) executor).getInFlightCnt() : 0;
+	}
+
+	@Override
+	public int getKeyedLaneCnt() {
+		return executor instanceof MonitoredThreadPoolExecutor
+				? ((MonitoredThreadPoolExecutor) executor).getKeyedLanes().laneCnt() : 0;
+	}
+
+	@Override
+	public int getPeakPoolSize() {
+		return executor == null ? 0 : executor.getLargestPoolSize();
+	}
+
+	@Override
+	public int getPoolSize() {
+		return executor == null ? 0 : executor.getPoolSize();
+	}
+
+	@Override
+	public int getActiveCnt() {
+		return executor == null ? 0 : executor.getActiveCount();
+	}
+
+	@Override
+	public int getQueueSize() {
+		return executor == null ? 0 : executor.getQueue().size();
+	}
+}
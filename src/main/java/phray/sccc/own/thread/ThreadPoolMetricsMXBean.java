@@ -0,0 +1,143 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+/**
+ * 线程池指标(JMX)，ObjectName: phray.sccc.own.thread:type=ThreadPool,name={ThreadPoolEnum.code}
+ * <p>
+ * 耗时单位均为毫秒，直方图为按微秒2的幂分桶的计数
+ * </p>
+ *
+ * @author Phray
+ * @Version ThreadPoolMetricsMXBean.java, v 0.1 2026-10-17 14:32 Sccc Exp $
+ * @see ThreadPoolMetrics
+ */
+public interface ThreadPoolMetricsMXBean {
+
+	/**
+	 * @return 排队耗时P50
+	 */
+	double getQueueWaitP50Millis();
+
+	/**
+	 * @return 排队耗时P99
+	 */
+	double getQueueWaitP99Millis();
+
+	/**
+	 * @return 排队耗时最大值
+	 */
+	double getQueueWaitMaxMillis();
+
+	/**
+	 * @return 排队耗时直方图
+	 */
+	long[] getQueueWaitHistogram();
+
+	/**
+	 * @return 执行耗时P50
+	 */
+	double getExecP50Millis();
+
+	/**
+	 * @return 执行耗时P99
+	 */
+	double getExecP99Millis();
+
+	/**
+	 * @return 执行耗时最大值
+	 */
+	double getExecMaxMillis();
+
+	/**
+	 * @return 执行耗时直方图
+	 */
+	long[] getExecHistogram();
+
+	/**
+	 * @return 拒绝次数(含CallerRuns兜底)
+	 */
+	long getRejectedCnt();
+
+	/**
+	 * @return 拒绝后由提交线程执行(CallerRunsPolicy)的次数
+	 */
+	long getCallerRunsCnt();
+
+	/**
+	 * @return 完成任务数
+	 */
+	long getCompletedCnt();
+
+	/**
+	 * @return 失败任务数
+	 */
+	long getFailedCnt();
+
+	/**
+	 * @return 背压模式下等待在途许可耗时P99
+	 */
+	double getPermitWaitP99Millis();
+
+	/**
+	 * @return 背压模式下等待在途许可耗时最大值
+	 */
+	double getPermitWaitMaxMillis();
+
+	/**
+	 * @return 背压模式下等待在途许可超时(拒绝)次数
+	 */
+	long getPermitRejectedCnt();
+
+	/**
+	 * @return 对冲执行发起次数
+	 */
+	long getHedgeLaunchedCnt();
+
+	/**
+	 * @return 对冲执行先于主执行完成的次数
+	 */
+	long getHedgeWonCnt();
+
+	/**
+	 * @return 达到触发时间但因预算耗尽或队列已满未对冲的次数
+	 */
+	long getHedgeSkippedCnt();
+
+	/**
+	 * @return 失败后延迟重试的次数
+	 */
+	long getRetryCnt();
+
+	/**
+	 * @return 背压模式下当前在途(已获取许可未结束)的任务数
+	 */
+	int getInFlightCnt();
+
+	/**
+	 * @return 按key串行执行的活跃通道数
+	 */
+	int getKeyedLaneCnt();
+
+	/**
+	 * @return 历史峰值线程数
+	 */
+	int getPeakPoolSize();
+
+	/**
+	 * @return 当前线程数
+	 */
+	int getPoolSize();
+
+	/**
+	 * @return 活跃线程数
+	 */
+	int getActiveCnt();
+
+	/**
+	 * @return 队列长度
+	 */
+	int getQueueSize();
+}
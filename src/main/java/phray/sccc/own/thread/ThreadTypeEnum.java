@@ -0,0 +1,43 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 线程池工作线程类型
+ *
+ * @author Phray
+ * @Version ThreadTypeEnum.java, v 0.1 2026-10-17 10:12 Sccc Exp $
+ */
+@Getter
+@AllArgsConstructor
+public enum ThreadTypeEnum {
+
+	/**
+	 * 平台线程(OS线程)，适合CPU密集或并发量可控的任务
+	 */
+	PLATFORM("PLATFORM", "平台线程"),
+
+	/**
+	 * 虚拟线程(JDK21+)，适合大量阻塞型RPC/DB扇出任务；
+	 * 运行时不支持时回退为平台线程，线程数按IO密集型任务估算(不超过maxCnt)
+	 *
+	 * @see VirtualThreadSupport
+	 */
+	VIRTUAL("VIRTUAL", "虚拟线程"),
+	;
+
+	/**
+	 * 标识码
+	 */
+	private final String code;
+
+	/**
+	 * 描述
+	 */
+	private final String desc;
+}
@@ -0,0 +1,163 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 线程池队列中的任务包装，记录提交/开始时间，用于统计排队耗时与执行耗时
+ *
+ * @author Phray
+ * @Version TrackedTask.java, v 0.1 2026-10-17 13:10 Sccc Exp $
+ * @see MonitoredThreadPoolExecutor
+ */
+final class TrackedTask implements Runnable {
+
+	/**
+	 * 实际任务
+	 */
+	private final Runnable delegate;
+
+	/**
+	 * 任务本身(用于失败统计)，非BaseJob时为null
+	 */
+	private final BaseJob job;
+
+	/**
+	 * 在途许可，任务结束(含CallerRuns在提交线程执行)时释放；未使用背压时为null
+	 */
+	private final Semaphore permit;
+
+	/**
+	 * 被拒绝时是否允许由拒绝策略在提交线程上执行(CallerRuns)
+	 */
+	private final boolean inlineAllowed;
+
+	/**
+	 * 优先级(提交时取自任务本身，非BaseJob时为0)，用于优先级队列排序
+	 *
+	 * @see PriorityTaskQueue
+	 */
+	private final int priority;
+
+	/**
+	 * 提交时间(System.nanoTime)
+	 */
+	private final long submitNanos;
+
+	/**
+	 * 开始执行时间(System.nanoTime)，仅由执行线程读写
+	 */
+	private long startNanos;
+
+	/**
+	 * 出队时任务已无需执行(已完成、已取消或已被其他线程领取)，不计入执行统计；仅由执行线程读写
+	 */
+	private boolean stale;
+
+	TrackedTask(Runnable delegate) {
+		this(delegate, null);
+	}
+
+	TrackedTask(Runnable delegate, Semaphore permit) {
+		this(delegate, permit, true);
+	}
+
+	TrackedTask(Runnable delegate, Semaphore permit, boolean inlineAllowed) {
+		this.delegate = delegate;
+		this.permit = permit;
+		this.inlineAllowed = inlineAllowed;
+		this.job = resolveJob(delegate);
+		// 直接提交到线程池(未经ThreadPoolHelper捕获上下文)的任务，在提交线程上补充捕获
+		if (Objects.nonNull(job) && Objects.isNull(job.getContext())) {
+			job.setContext(ContextSnapshot.capture());
+		}
+		this.priority = Objects.isNull(job) ? 0 : job.getPriority();
+		this.submitNanos = System.nanoTime();
+	}
+
+	@Override
+	public void run() {
+		try {
+			delegate.run();
+		} finally {
+			releasePermit();
+		}
+	}
+
+	/**
+	 * 释放在途许可(任务不会再执行时调用，如被拒绝丢弃)
+	 */
+	void releasePermit() {
+		if (Objects.nonNull(permit)) {
+			permit.release();
+		}
+	}
+
+	Runnable getDelegate() {
+		return delegate;
+	}
+
+	boolean isInlineAllowed() {
+		return inlineAllowed;
+	}
+
+	BaseJob getJob() {
+		return job;
+	}
+
+	int getPriority() {
+		return priority;
+	}
+
+	long getSubmitNanos() {
+		return submitNanos;
+	}
+
+	long getStartNanos() {
+		return startNanos;
+	}
+
+	void setStartNanos(long startNanos) {
+		this.startNanos = startNanos;
+	}
+
+	boolean isStale() {
+		return stale;
+	}
+
+	/**
+	 * 出队时判断任务是否已无需执行：FutureTask已完成(被取消、超时)或已被嵌套调用方/对冲领取，
+	 * 此时run只是空转(隔离舱包装仍需执行以归还名额)
+	 */
+	void markStale() {
+		JobFutureTask<?> future = resolveFuture(delegate);
+		this.stale = Objects.nonNull(future) && (future.isDone() || future.isClaimed());
+	}
+
+	private static JobFutureTask<?> resolveFuture(Runnable delegate) {
+		if (delegate instanceof JobFutureTask) {
+			return (JobFutureTask<?>) delegate;
+		}
+		if (delegate instanceof Bulkhead.ReleasingTask) {
+			return resolveFuture(((Bulkhead.ReleasingTask) delegate).getDelegate());
+		}
+		return null;
+	}
+
+	private static BaseJob resolveJob(Runnable delegate) {
+		if (delegate instanceof BaseJob) {
+			return (BaseJob) delegate;
+		}
+		if (delegate instanceof JobFutureTask) {
+			return ((JobFutureTask<?>) delegate).getJob();
+		}
+		if (delegate instanceof Bulkhead.ReleasingTask) {
+			return resolveJob(((Bulkhead.ReleasingTask) delegate).getDelegate());
+		}
+		return null;
+	}
+}
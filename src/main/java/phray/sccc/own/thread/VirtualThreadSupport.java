@@ -0,0 +1,77 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import lombok.extern.slf4j.Slf4j;
+import phray.sccc.own.log.LoggerUtil;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程支持：工程基于JDK8编译，通过反射获取JDK21+的{@code Thread.ofVirtual().factory()}
+ *
+ * @author Phray
+ * @Version VirtualThreadSupport.java, v 0.1 2026-10-17 10:20 Sccc Exp $
+ */
+@Slf4j
+final class VirtualThreadSupport {
+
+	/**
+	 * 虚拟线程工厂，运行时不支持虚拟线程时为null
+	 */
+	private static final ThreadFactory VIRTUAL_FACTORY = resolveFactory();
+
+	/**
+	 * 回退为平台线程时假定的阻塞系数(虚拟线程池用于阻塞型扇出任务)
+	 */
+	private static final double FALLBACK_BLOCKING_COEFFICIENT = 0.9D;
+
+	private VirtualThreadSupport() {
+	}
+
+	/**
+	 * 当前运行时是否支持虚拟线程
+	 *
+	 * @return true: 支持
+	 */
+	static boolean isSupported() {
+		return Objects.nonNull(VIRTUAL_FACTORY);
+	}
+
+	/**
+	 * 获取虚拟线程工厂
+	 *
+	 * @return 虚拟线程工厂，不支持时返回null
+	 */
+	static ThreadFactory factory() {
+		return VIRTUAL_FACTORY;
+	}
+
+	/**
+	 * 不支持虚拟线程时的平台线程数：按IO密集型任务估算(CPU核数 / (1 - 阻塞系数))，且不超过配置的最大并发
+	 *
+	 * @param maxCnt 配置的最大并发(虚拟线程数)
+	 * @return 平台线程数
+	 */
+	static int fallbackPlatformCnt(int maxCnt) {
+		int estimated = (int) (Runtime.getRuntime().availableProcessors() / (1 - FALLBACK_BLOCKING_COEFFICIENT));
+		return Math.max(1, Math.min(maxCnt, estimated));
+	}
+
+	private static ThreadFactory resolveFactory() {
+		try {
+			Method ofVirtual = Thread.class.getMethod("ofVirtual");
+			Object builder = ofVirtual.invoke(null);
+			// 使用公开接口Thread.Builder上的方法，避免访问JDK内部实现类
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			LoggerUtil.info(log, "当前JDK不支持虚拟线程, 将回退为平台线程: [%s]", e.getClass().getSimpleName());
+			return null;
+		}
+	}
+}
@@ -0,0 +1,165 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import phray.sccc.own.exception.BizException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 业务隔离舱：并发已满时排队、等待队列已满时拒绝或在提交线程执行
+ *
+ * @author Phray
+ * @Version BulkheadTest.java, v 0.1 2026-10-18 11:45 Sccc Exp $
+ */
+public class BulkheadTest {
+
+	private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void queuesWhenFullAndRunsAfterRelease() throws InterruptedException {
+		Bulkhead bulkhead = new Bulkhead("BULKHEAD_QUEUE", BulkheadConfig.builder().maxConcurrent(1).maxPending(1).build());
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch queuedRan = new CountDownLatch(1);
+		bulkhead.execute(pool, () -> {
+			started.countDown();
+			awaitQuietly(release);
+		});
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+		bulkhead.execute(pool, queuedRan::countDown);
+
+		Assert.assertEquals(1, bulkhead.getRunningCnt());
+		Assert.assertEquals(1, bulkhead.getPendingCnt());
+		Assert.assertEquals(1, bulkhead.getQueuedCnt());
+		Assert.assertFalse(queuedRan.await(100, TimeUnit.MILLISECONDS));
+
+		release.countDown();
+		Assert.assertTrue(queuedRan.await(5, TimeUnit.SECONDS));
+		Assert.assertEquals(0, bulkhead.getPendingCnt());
+	}
+
+	@Test
+	public void rejectsWhenPendingFull() throws InterruptedException {
+		Bulkhead bulkhead = new Bulkhead("BULKHEAD_ABORT", BulkheadConfig.builder().maxConcurrent(1).maxPending(1).build());
+		fill(bulkhead);
+
+		try {
+			bulkhead.execute(pool, () -> Assert.fail("被拒绝的任务不应执行"));
+			Assert.fail("隔离舱已满应拒绝");
+		} catch (BizException e) {
+			Assert.assertTrue(e.getMessage().contains("BULKHEAD_ABORT"));
+		}
+		Assert.assertEquals(1, bulkhead.getRejectedCnt());
+		Assert.assertEquals(1, bulkhead.getPendingCnt());
+	}
+
+	@Test
+	public void callerRunsWhenPendingFull() throws InterruptedException {
+		Bulkhead bulkhead = new Bulkhead("BULKHEAD_CALLER_RUNS", BulkheadConfig.builder().maxConcurrent(1).maxPending(1)
+				.rejectPolicy(BulkheadRejectEnum.CALLER_RUNS).build());
+		fill(bulkhead);
+
+		AtomicReference<Thread> runner = new AtomicReference<>();
+		bulkhead.execute(pool, () -> runner.set(Thread.currentThread()));
+		Assert.assertSame(Thread.currentThread(), runner.get());
+		Assert.assertEquals(1, bulkhead.getCallerRunsCnt());
+
+		// 不允许在提交线程执行时一律拒绝
+		try {
+			bulkhead.execute(pool, () -> Assert.fail("被拒绝的任务不应执行"), false);
+			Assert.fail("隔离舱已满应拒绝");
+		} catch (BizException expected) {
+			Assert.assertEquals(2, bulkhead.getRejectedCnt());
+		}
+	}
+
+	@Test
+	public void rejectedPendingLaunchFailsTaskInsteadOfRunningInline() throws Exception {
+		MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor(ThreadPoolEnum.COMMON, 1, 1, 60L,
+				TimeUnit.SECONDS, new ArrayBlockingQueue<>(1), Executors.defaultThreadFactory(),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		try {
+			Bulkhead bulkhead = new Bulkhead("BULKHEAD_PENDING_REJECT", BulkheadConfig.builder().maxConcurrent(1)
+					.maxPending(1).build());
+			CountDownLatch started = new CountDownLatch(1);
+			bulkhead.execute(executor, () -> {
+				started.countDown();
+				awaitQuietly(release);
+			});
+			Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+			// 占满线程池队列：释放名额的工作线程提交等待任务时被拒绝
+			executor.execute(() -> {
+			});
+
+			AtomicInteger ran = new AtomicInteger();
+			CountDownLatch latch = new CountDownLatch(1);
+			BaseInnerRun task = new BaseInnerRun("BULKHEAD_PENDING_REJECT", latch) {
+				@Override
+				protected void doRun() {
+					ran.incrementAndGet();
+				}
+			};
+			JobFutureTask<?> future = new JobFutureTask<>(task, null);
+			bulkhead.execute(executor, future);
+			Assert.assertEquals(1, bulkhead.getPendingCnt());
+
+			release.countDown();
+			Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+			try {
+				future.get(5, TimeUnit.SECONDS);
+				Assert.fail("提交失败的等待任务应以异常完成");
+			} catch (ExecutionException e) {
+				Assert.assertTrue(e.getCause() instanceof BizException);
+			}
+			Assert.assertEquals(0, ran.get());
+			Assert.assertTrue(task.isFailed());
+			Assert.assertEquals(0, bulkhead.getRunningCnt());
+			Assert.assertEquals(0, bulkhead.getPendingCnt());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 占满并发名额与等待队列
+	 */
+	private void fill(Bulkhead bulkhead) throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		bulkhead.execute(pool, () -> {
+			started.countDown();
+			awaitQuietly(release);
+		});
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+		bulkhead.execute(pool, () -> {
+		});
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
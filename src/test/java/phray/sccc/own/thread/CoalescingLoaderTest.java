@@ -0,0 +1,124 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import phray.sccc.own.exception.BizException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 请求合并加载：按数量/时间窗口合并，线程池饱和时请求以异常完成而不是挂起或在提交线程执行
+ *
+ * @author Phray
+ * @Version CoalescingLoaderTest.java, v 0.1 2026-10-18 14:50 Sccc Exp $
+ */
+public class CoalescingLoaderTest {
+
+	private final MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor(ThreadPoolEnum.COMMON, 1, 1, 60L,
+			TimeUnit.SECONDS, new ArrayBlockingQueue<>(1), Executors.defaultThreadFactory(),
+			new ThreadPoolExecutor.CallerRunsPolicy());
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private final AtomicInteger loaderCalls = new AtomicInteger();
+
+	private final Function<List<String>, Map<String, Integer>> batchLoader = keys -> {
+		loaderCalls.incrementAndGet();
+		Map<String, Integer> result = new HashMap<>();
+		for (String key : keys) {
+			result.put(key, key.length());
+		}
+		return result;
+	};
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void coalescesBySizeAndDedup() throws Exception {
+		CoalescingLoader<String, Integer> loader = new CoalescingLoader<>("COALESCE_SIZE", executor,
+				CoalescingOptions.builder().maxBatchSize(3).maxWaitMillis(10_000L).build(), batchLoader);
+		CompletableFuture<Integer> a = loader.load("a");
+		CompletableFuture<Integer> b = loader.load("bb");
+		CompletableFuture<Integer> c = loader.load("a");
+
+		Assert.assertEquals(1, a.get(5, TimeUnit.SECONDS).intValue());
+		Assert.assertEquals(2, b.get(5, TimeUnit.SECONDS).intValue());
+		Assert.assertEquals(1, c.get(5, TimeUnit.SECONDS).intValue());
+		Assert.assertEquals(1, loaderCalls.get());
+		Assert.assertEquals(1L, loader.getBatchCnt());
+		Assert.assertEquals(2L, loader.getLoadedKeyCnt());
+	}
+
+	@Test
+	public void completesExceptionallyWhenRejected() throws Exception {
+		saturate();
+		CoalescingLoader<String, Integer> loader = new CoalescingLoader<>("COALESCE_REJECT", executor,
+				CoalescingOptions.builder().maxBatchSize(2).maxWaitMillis(20L).build(), batchLoader);
+		// 数量触发：提交线程取出的请求
+		CompletableFuture<Integer> a = loader.load("a");
+		CompletableFuture<Integer> b = loader.load("b");
+		// 定时触发：调度线程取出的请求
+		CompletableFuture<Integer> c = loader.load("c");
+
+		assertBusy(a);
+		assertBusy(b);
+		assertBusy(c);
+		Assert.assertEquals(0, loaderCalls.get());
+		Assert.assertEquals(0L, loader.getBatchCnt());
+
+		release.countDown();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (executor.getActiveCount() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10L);
+		}
+		Assert.assertEquals(1, loader.load("d").get(5, TimeUnit.SECONDS).intValue());
+	}
+
+	/**
+	 * 占满工作线程与队列
+	 */
+	private void saturate() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		executor.execute(() -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+		executor.execute(() -> {
+		});
+	}
+
+	private static void assertBusy(CompletableFuture<Integer> future) throws Exception {
+		try {
+			future.get(5, TimeUnit.SECONDS);
+			Assert.fail("请求应以异常完成");
+		} catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof BizException);
+			Assert.assertTrue(e.getCause().getMessage().contains("提交被拒绝"));
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 上下文快照：直接提交时补充捕获、执行后恢复原有上下文
+ *
+ * @author Phray
+ * @Version ContextSnapshotTest.java, v 0.1 2026-10-18 12:10 Sccc Exp $
+ */
+public class ContextSnapshotTest {
+
+	private final MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor(ThreadPoolEnum.COMMON, 1, 1,
+			60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1), Executors.defaultThreadFactory(),
+			new ThreadPoolExecutor.CallerRunsPolicy());
+
+	@After
+	public void tearDown() {
+		MDC.clear();
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void directSubmissionCarriesCallerMdc() throws Exception {
+		MDC.put("traceId", "T-1");
+		Future<String> traceId = executor.submit(traceIdCall());
+		Assert.assertEquals("T-1", traceId.get(5, TimeUnit.SECONDS));
+
+		// 工作线程在任务结束后不残留上下文
+		MDC.clear();
+		Future<String> next = executor.submit(() -> MDC.get("traceId"));
+		Assert.assertNull(next.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void nestedAttachRestoresPreviousSnapshot() {
+		MDC.put("traceId", "OUTER");
+		ContextSnapshot outer = ContextSnapshot.capture();
+		MDC.put("traceId", "INNER");
+		ContextSnapshot inner = ContextSnapshot.capture();
+		MDC.put("traceId", "CALLER");
+
+		ContextSnapshot.Scope outerScope = outer.attach();
+		Assert.assertEquals("OUTER", MDC.get("traceId"));
+		ContextSnapshot.Scope innerScope = inner.attach();
+		Assert.assertEquals("INNER", MDC.get("traceId"));
+		ContextSnapshot.Scope sameScope = inner.attach();
+		sameScope.close();
+		Assert.assertEquals("INNER", MDC.get("traceId"));
+		innerScope.close();
+		Assert.assertEquals("OUTER", MDC.get("traceId"));
+		outerScope.close();
+		// 非工作线程恢复为attach之前的MDC
+		Assert.assertEquals("CALLER", MDC.get("traceId"));
+	}
+
+	private static BaseInnerCall<String> traceIdCall() {
+		return new BaseInnerCall<String>("TRACE") {
+			@Override
+			protected String doCall() {
+				return MDC.get("traceId");
+			}
+		};
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+import phray.sccc.own.exception.BizException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 依赖图执行：依赖顺序、嵌套执行不死锁、下游提交被拒绝不计为上游失败
+ *
+ * @author Phray
+ * @Version DagExecutionTest.java, v 0.1 2026-10-18 13:05 Sccc Exp $
+ */
+public class DagExecutionTest {
+
+	private final ThreadPoolHelper helper = new ThreadPoolHelper();
+
+	@Test
+	public void runsInDependencyOrder() {
+		List<String> order = new CopyOnWriteArrayList<>();
+		DagSummary summary = helper.doExecuteGraph(diamond(order), ThreadPoolEnum.COMMON, "DAG_ORDER", null, null);
+
+		Assert.assertEquals("A", order.get(0));
+		Assert.assertEquals("D", order.get(3));
+		Assert.assertEquals(4, order.size());
+		Assert.assertEquals("A", summary.getCriticalPath().get(0));
+		Assert.assertEquals("D", summary.getCriticalPath().get(summary.getCriticalPath().size() - 1));
+	}
+
+	@Test
+	public void nestedGraphDoesNotDeadlockSaturatedPool() {
+		int workers = helper.getExecutor(ThreadPoolEnum.COMMON).getCorePoolSize();
+		List<BaseInnerRun> outer = Lists.newArrayList();
+		List<String> order = new CopyOnWriteArrayList<>();
+		for (int i = 0; i < workers; i++) {
+			outer.add(new BaseInnerRun("DAG_OUTER") {
+				@Override
+				protected void doRun() {
+					// 全部工作线程都在执行外层任务，内层节点只能由调用方领取执行
+					helper.doExecuteGraph(chain(order), ThreadPoolEnum.COMMON, "DAG_NESTED", null, null);
+				}
+			});
+		}
+		helper.runBatchTask(outer, "DAG_OUTER", ThreadPoolEnum.COMMON,
+				BatchOptions.builder().timeoutMillis(10_000L).build());
+		Assert.assertEquals(workers * 3, order.size());
+	}
+
+	@Test
+	public void downstreamRejectionFailsGraphNotUpstream() {
+		helper.registerBulkhead("DAG_REJECT", BulkheadConfig.builder().maxConcurrent(1).maxPending(0).build());
+		List<String> order = new CopyOnWriteArrayList<>();
+		try {
+			helper.doExecuteGraph(chain(order), ThreadPoolEnum.COMMON, "DAG_REJECT", null, null);
+			Assert.fail("下游提交被拒绝应抛出异常");
+		} catch (BizException e) {
+			Assert.assertTrue(e.getMessage().contains("bulkhead"));
+		}
+		// 上游已执行完成，被拒绝的下游未执行
+		Assert.assertEquals(Collections.singletonList("A"), order);
+	}
+
+	private static List<ExecContext<Object, Object>> diamond(List<String> order) {
+		return Lists.newArrayList(
+				node("A", order),
+				node("B", order, "A"),
+				node("C", order, "A"),
+				node("D", order, "B", "C"));
+	}
+
+	private static List<ExecContext<Object, Object>> chain(List<String> order) {
+		return Lists.newArrayList(
+				node("A", order),
+				node("B", order, "A"),
+				node("C", order, "B"));
+	}
+
+	private static ExecContext<Object, Object> node(String name, List<String> order, String... dependsOn) {
+		return ExecContext.<Object, Object>builder()
+				.bizName(name)
+				.execFunc((req, resp) -> order.add(name))
+				.dependsOn(Lists.newArrayList(dependsOn))
+				.build();
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * executor查找与单次提交开销：
+ * <ul>
+ *     <li>lookup: 仅{@link ThreadPoolHelper#getExecutor}命中路径</li>
+ *     <li>submitViaLookup: 每次提交前查找executor(业务代码的常见写法)</li>
+ *     <li>submitDirect: 复用已持有的executor提交，与submitViaLookup之差即查找在提交路径上的开销</li>
+ * </ul>
+ * 运行: 以test classpath执行本类main方法，可通过参数-t指定线程数
+ *
+ * @author Phray
+ * @Version ExecutorLookupBenchmark.java, v 0.1 2026-10-18 10:05 Sccc Exp $
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ExecutorLookupBenchmark {
+
+	private static final Runnable NOOP = () -> {
+	};
+
+	private ThreadPoolHelper helper;
+
+	private MonitoredThreadPoolExecutor executor;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		helper = new ThreadPoolHelper();
+		executor = helper.getExecutor(ThreadPoolEnum.COMMON);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	@Benchmark
+	public MonitoredThreadPoolExecutor lookup() {
+		return helper.getExecutor(ThreadPoolEnum.COMMON);
+	}
+
+	@Benchmark
+	public void submitViaLookup() {
+		helper.getExecutor(ThreadPoolEnum.COMMON).execute(NOOP);
+	}
+
+	@Benchmark
+	public void submitDirect() {
+		executor.execute(NOOP);
+	}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		new Runner(new OptionsBuilder()
+				.include(ExecutorLookupBenchmark.class.getSimpleName())
+				.parent(new CommandLineOptions(args))
+				.build()).run();
+	}
+}
@@ -0,0 +1,117 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+import phray.sccc.own.exception.BizException;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 快速失败：首个异常释放发令枪、取消其余任务
+ *
+ * @author Phray
+ * @Version FailFastBatchTest.java, v 0.1 2026-10-18 09:10 Sccc Exp $
+ */
+public class FailFastBatchTest {
+
+	private final ThreadPoolHelper helper = new ThreadPoolHelper();
+
+	@Test
+	public void onErrorDrainsLatchWhenFailFast() {
+		CountDownLatch latch = new CountDownLatch(3);
+		BaseInnerRun task = failing("FAIL_FAST", latch);
+		task.setErrorFlag(new AtomicBoolean());
+		task.setErrorReference(new AtomicReference<>());
+		task.setFailFast(true);
+
+		task.run();
+
+		Assert.assertEquals(0, latch.getCount());
+		Assert.assertTrue(task.getErrorFlag().get());
+		Assert.assertTrue(task.isFailed());
+	}
+
+	@Test
+	public void onErrorCountsDownOnceWithoutFailFast() {
+		CountDownLatch latch = new CountDownLatch(3);
+		BaseInnerRun task = failing("NO_FAIL_FAST", latch);
+		task.setErrorFlag(new AtomicBoolean());
+		task.setErrorReference(new AtomicReference<>());
+
+		task.run();
+
+		Assert.assertEquals(2, latch.getCount());
+		Assert.assertTrue(task.getErrorFlag().get());
+	}
+
+	@Test
+	public void firstErrorFailsBatchAndInterruptsRest() {
+		AtomicInteger interrupted = new AtomicInteger();
+		CountDownLatch running = new CountDownLatch(3);
+		List<BaseInnerRun> tasks = Lists.newArrayList();
+		for (int i = 0; i < 3; i++) {
+			tasks.add(new BaseInnerRun("FAIL_FAST_BATCH") {
+				@Override
+				protected void doRun() {
+					running.countDown();
+					try {
+						Thread.sleep(5_000L);
+					} catch (InterruptedException e) {
+						interrupted.incrementAndGet();
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+		}
+		// 其余任务均已开始后再失败，验证运行中的任务被中断
+		tasks.add(new BaseInnerRun("FAIL_FAST_BATCH") {
+			@Override
+			protected void doRun() {
+				try {
+					running.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				throw new IllegalStateException("boom");
+			}
+		});
+
+		long begin = System.nanoTime();
+		try {
+			helper.runBatchTask(tasks, "FAIL_FAST_BATCH", ThreadPoolEnum.COMMON, true);
+			Assert.fail("快速失败应抛出首个异常");
+		} catch (BizException e) {
+			Assert.assertTrue(e.getMessage().contains("boom"));
+		}
+		Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin) < 2_000L);
+		awaitTrue(() -> interrupted.get() == 3);
+	}
+
+	private static BaseInnerRun failing(String bizName, CountDownLatch latch) {
+		return new BaseInnerRun(bizName, latch) {
+			@Override
+			protected void doRun() {
+				throw new IllegalStateException("boom");
+			}
+		};
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			Assert.assertTrue("等待条件超时", System.nanoTime() < deadline);
+			Thread.yield();
+		}
+	}
+}
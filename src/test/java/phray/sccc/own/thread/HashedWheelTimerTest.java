@@ -0,0 +1,57 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 时间轮：到期触发(含超过一圈的延迟)、取消后不触发
+ *
+ * @author Phray
+ * @Version HashedWheelTimerTest.java, v 0.1 2026-10-18 15:20 Sccc Exp $
+ */
+public class HashedWheelTimerTest {
+
+	/**
+	 * 10ms * 8槽，一圈80ms
+	 */
+	private final HashedWheelTimer wheel = new HashedWheelTimer("TEST_WHEEL", 10L, TimeUnit.MILLISECONDS, 8);
+
+	@Test
+	public void firesAfterDelayAcrossRounds() throws InterruptedException {
+		CountDownLatch fired = new CountDownLatch(1);
+		AtomicLong firedNanos = new AtomicLong();
+		long begin = System.nanoTime();
+		HashedWheelTimer.Timeout timeout = wheel.newTimeout(() -> {
+			firedNanos.set(System.nanoTime());
+			fired.countDown();
+		}, 200L, TimeUnit.MILLISECONDS);
+		Assert.assertEquals(1L, wheel.pendingCnt());
+
+		Assert.assertTrue(fired.await(5, TimeUnit.SECONDS));
+		Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(firedNanos.get() - begin) >= 200L);
+		Assert.assertTrue(timeout.isExpired());
+		Assert.assertFalse(timeout.cancel());
+		Assert.assertEquals(0L, wheel.pendingCnt());
+	}
+
+	@Test
+	public void cancelledTimeoutNeverFires() throws InterruptedException {
+		CountDownLatch fired = new CountDownLatch(1);
+		HashedWheelTimer.Timeout timeout = wheel.newTimeout(fired::countDown, 50L, TimeUnit.MILLISECONDS);
+
+		Assert.assertTrue(timeout.cancel());
+		Assert.assertFalse(timeout.cancel());
+		Assert.assertTrue(timeout.isCancelled());
+		Assert.assertEquals(0L, wheel.pendingCnt());
+		Assert.assertFalse(fired.await(200, TimeUnit.MILLISECONDS));
+		Assert.assertFalse(timeout.isExpired());
+	}
+}
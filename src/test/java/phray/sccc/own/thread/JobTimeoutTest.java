@@ -0,0 +1,200 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import phray.sccc.own.exception.BizException;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单任务超时：执行中超时被中断、未开始超时不再执行、完成后撤销超时登记、分片模式拒绝单任务超时
+ *
+ * @author Phray
+ * @Version JobTimeoutTest.java, v 0.1 2026-10-18 15:30 Sccc Exp $
+ */
+public class JobTimeoutTest {
+
+	private final ThreadPoolHelper helper = new ThreadPoolHelper();
+
+	private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+	@After
+	public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void runningTaskIsInterruptedOnTimeout() throws InterruptedException {
+		AtomicBoolean interrupted = new AtomicBoolean();
+		CountDownLatch exited = new CountDownLatch(1);
+		BaseInnerCall<String> task = new BaseInnerCall<String>("TIMEOUT_RUNNING") {
+			@Override
+			protected String doCall() {
+				try {
+					Thread.sleep(5_000L);
+				} catch (InterruptedException e) {
+					interrupted.set(true);
+					Thread.currentThread().interrupt();
+				}
+				return "late";
+			}
+		};
+		task.setTimeoutMillis(50L);
+		JobFutureTask<String> future = new JobFutureTask<>(task);
+		future.afterExit(exited::countDown);
+		pool.execute(future);
+
+		assertTimeout(future);
+		Assert.assertTrue(exited.await(5, TimeUnit.SECONDS));
+		Assert.assertTrue(interrupted.get());
+	}
+
+	@Test
+	public void unstartedTaskIsAbandonedOnTimeout() throws InterruptedException {
+		AtomicInteger calls = new AtomicInteger();
+		BaseInnerCall<String> task = new BaseInnerCall<String>("TIMEOUT_UNSTARTED") {
+			@Override
+			protected String doCall() {
+				calls.incrementAndGet();
+				return "never";
+			}
+		};
+		task.setTimeoutMillis(50L);
+		JobFutureTask<String> future = new JobFutureTask<>(task);
+		CountDownLatch exited = new CountDownLatch(1);
+		future.afterExit(exited::countDown);
+
+		assertTimeout(future);
+		Assert.assertTrue(exited.await(5, TimeUnit.SECONDS));
+		Assert.assertTrue(future.isClaimed());
+		future.run();
+		Assert.assertEquals(0, calls.get());
+		Assert.assertTrue(task.isFailed());
+	}
+
+	@Test
+	public void completedTasksReleaseTheirTimeouts() {
+		long before = HelperScheduler.pendingTimeoutCnt();
+		String joined = helper.runBatchTasksInCompletionOrder(tasks("TIMEOUT_COMPLETION_ORDER"), new Joiner(),
+				5, TimeUnit.SECONDS, "TIMEOUT_COMPLETION_ORDER", ThreadPoolEnum.COMMON);
+		Assert.assertEquals(3, joined.length());
+		Assert.assertEquals(before, HelperScheduler.pendingTimeoutCnt());
+
+		Integer sum = helper.runBatchTasksWithCombiner(lengths("TIMEOUT_COMBINER"), new CallableTaskCombiner<Integer>() {
+			@Override
+			public Integer empty() {
+				return 0;
+			}
+
+			@Override
+			public Integer combine(Integer left, Integer right) {
+				return left + right;
+			}
+		}, 5, TimeUnit.SECONDS, "TIMEOUT_COMBINER", ThreadPoolEnum.COMMON);
+		Assert.assertEquals(3, sum.intValue());
+		Assert.assertEquals(before, HelperScheduler.pendingTimeoutCnt());
+	}
+
+	@Test
+	public void chunkedModeRejectsTaskTimeout() {
+		AtomicInteger calls = new AtomicInteger();
+		List<BaseInnerRun> tasks = Lists.newArrayList();
+		for (int i = 0; i < 3; i++) {
+			BaseInnerRun task = new BaseInnerRun("TIMEOUT_CHUNKED") {
+				@Override
+				protected void doRun() {
+					calls.incrementAndGet();
+				}
+			};
+			task.setTimeoutMillis(100L);
+			tasks.add(task);
+		}
+		try {
+			helper.runBatchTask(tasks, "TIMEOUT_CHUNKED", ThreadPoolEnum.COMMON,
+					BatchOptions.builder().chunked(true).build());
+			Assert.fail("分片模式应拒绝单任务超时");
+		} catch (BizException e) {
+			Assert.assertTrue(e.getMessage().contains("分片模式不支持单任务超时"));
+		}
+		Assert.assertEquals(0, calls.get());
+	}
+
+	private static List<BaseInnerCall<String>> tasks(String bizName) {
+		List<BaseInnerCall<String>> tasks = Lists.newArrayList();
+		for (int i = 0; i < 3; i++) {
+			BaseInnerCall<String> task = new BaseInnerCall<String>(bizName) {
+				@Override
+				protected String doCall() {
+					return "x";
+				}
+			};
+			task.setTimeoutMillis(60_000L);
+			tasks.add(task);
+		}
+		return tasks;
+	}
+
+	private static List<BaseInnerCall<Integer>> lengths(String bizName) {
+		List<BaseInnerCall<Integer>> tasks = Lists.newArrayList();
+		for (int i = 0; i < 3; i++) {
+			BaseInnerCall<Integer> task = new BaseInnerCall<Integer>(bizName) {
+				@Override
+				protected Integer doCall() {
+					return 1;
+				}
+			};
+			task.setTimeoutMillis(60_000L);
+			tasks.add(task);
+		}
+		return tasks;
+	}
+
+	private static void assertTimeout(JobFutureTask<String> future) throws InterruptedException {
+		try {
+			future.get(5, TimeUnit.SECONDS);
+			Assert.fail("任务应超时");
+		} catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof BizException);
+			Assert.assertTrue(e.getCause().getMessage().contains("执行超时"));
+		} catch (TimeoutException e) {
+			Assert.fail("超时未触发");
+		}
+	}
+
+	/**
+	 * 按完成顺序拼接结果
+	 */
+	private static final class Joiner implements CallableTaskProcessService<String> {
+
+		private final StringBuilder joined = new StringBuilder();
+
+		@Override
+		public void init() {
+			joined.setLength(0);
+		}
+
+		@Override
+		public void fill(String data) {
+			joined.append(data);
+		}
+
+		@Override
+		public String get() {
+			return joined.toString();
+		}
+	}
+}
@@ -0,0 +1,197 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按key串行执行：同一key按提交顺序执行，线程池拒绝时提交线程循环执行通道且调用栈不增长
+ *
+ * @author Phray
+ * @Version KeyedLaneExecutorTest.java, v 0.1 2026-10-18 14:20 Sccc Exp $
+ */
+public class KeyedLaneExecutorTest {
+
+	@Test
+	public void preservesOrderPerKey() throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			KeyedLaneExecutor lanes = new KeyedLaneExecutor(pool);
+			int keyCnt = 8;
+			int taskPerKey = 500;
+			List<List<Integer>> orders = new ArrayList<>();
+			List<AtomicBoolean> running = new ArrayList<>();
+			AtomicInteger overlapped = new AtomicInteger();
+			CountDownLatch done = new CountDownLatch(keyCnt * taskPerKey);
+			for (int k = 0; k < keyCnt; k++) {
+				orders.add(Collections.synchronizedList(new ArrayList<>()));
+				running.add(new AtomicBoolean());
+			}
+			for (int i = 0; i < taskPerKey; i++) {
+				for (int k = 0; k < keyCnt; k++) {
+					int key = k;
+					int seq = i;
+					lanes.execute(key, () -> {
+						if (!running.get(key).compareAndSet(false, true)) {
+							overlapped.incrementAndGet();
+						}
+						orders.get(key).add(seq);
+						running.get(key).set(false);
+						done.countDown();
+					});
+				}
+			}
+
+			Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+			Assert.assertEquals(0, overlapped.get());
+			for (List<Integer> order : orders) {
+				Assert.assertEquals(taskPerKey, order.size());
+				for (int i = 0; i < taskPerKey; i++) {
+					Assert.assertEquals(i, order.get(i).intValue());
+				}
+			}
+			awaitRetired(lanes);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void interruptDoesNotLeakIntoNextTask() throws InterruptedException {
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			KeyedLaneExecutor lanes = new KeyedLaneExecutor(pool);
+			CountDownLatch enqueued = new CountDownLatch(1);
+			CountDownLatch done = new CountDownLatch(1);
+			AtomicBoolean interrupted = new AtomicBoolean(true);
+			// 模拟超时/cancel(true)在任务结束时遗留的中断，下一个任务在同一批内执行
+			lanes.execute("INTERRUPT", () -> {
+				awaitQuietly(enqueued);
+				Thread.currentThread().interrupt();
+			});
+			lanes.execute("INTERRUPT", () -> {
+				interrupted.set(Thread.currentThread().isInterrupted());
+				done.countDown();
+			});
+			enqueued.countDown();
+
+			Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+			Assert.assertFalse(interrupted.get());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void errorDoesNotStallLane() throws InterruptedException {
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			KeyedLaneExecutor lanes = new KeyedLaneExecutor(pool);
+			CountDownLatch failed = new CountDownLatch(1);
+			lanes.execute("ERROR", () -> {
+				failed.countDown();
+				throw new Error("boom");
+			});
+			Assert.assertTrue(failed.await(5, TimeUnit.SECONDS));
+
+			CountDownLatch next = new CountDownLatch(1);
+			lanes.execute("ERROR", next::countDown);
+			Assert.assertTrue(next.await(5, TimeUnit.SECONDS));
+			awaitRetired(lanes);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void runsPastBatchInlineUnderCallerRuns() throws InterruptedException {
+		MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor(ThreadPoolEnum.COMMON, 1, 1, 60L,
+				TimeUnit.SECONDS, new ArrayBlockingQueue<>(1), Executors.defaultThreadFactory(),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			// 占满工作线程与队列，通道每次提交都会被拒绝
+			CountDownLatch started = new CountDownLatch(1);
+			executor.execute(() -> {
+				started.countDown();
+				awaitQuietly(release);
+			});
+			Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+			executor.execute(() -> {
+			});
+
+			KeyedLaneExecutor lanes = executor.getKeyedLanes();
+			int taskCnt = KeyedLaneExecutor.MAX_BATCH_PER_RUN * 50;
+			List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+			List<Integer> depths = Collections.synchronizedList(new ArrayList<>());
+			List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+			CountDownLatch filled = new CountDownLatch(1);
+			Thread submitter = Thread.currentThread();
+			// 第一个任务在提交线程执行期间，其余任务由另一线程提交到同一通道
+			Thread producer = new Thread(() -> {
+				for (int i = 1; i < taskCnt; i++) {
+					int seq = i;
+					lanes.execute("HOT", () -> record(seq, order, depths, threads));
+				}
+				filled.countDown();
+			});
+			lanes.execute("HOT", () -> {
+				producer.start();
+				awaitQuietly(filled);
+				record(0, order, depths, threads);
+			});
+
+			Assert.assertEquals(taskCnt, order.size());
+			for (int i = 0; i < taskCnt; i++) {
+				Assert.assertEquals(i, order.get(i).intValue());
+			}
+			// 所有批次在同一栈帧内执行
+			Assert.assertEquals(1, new HashSet<>(depths).size());
+			for (Thread thread : threads) {
+				Assert.assertSame(submitter, thread);
+			}
+			Assert.assertEquals(0, lanes.laneCnt());
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	private static void record(int seq, List<Integer> order, List<Integer> depths, List<Thread> threads) {
+		order.add(seq);
+		depths.add(Thread.currentThread().getStackTrace().length);
+		threads.add(Thread.currentThread());
+	}
+
+	private static void awaitRetired(KeyedLaneExecutor lanes) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (lanes.laneCnt() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10L);
+		}
+		Assert.assertEquals(0, lanes.laneCnt());
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
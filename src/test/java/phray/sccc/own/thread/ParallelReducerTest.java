@@ -0,0 +1,88 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 并行树形归约：正常合并、合并被拒绝时移交给后续完成方
+ *
+ * @author Phray
+ * @Version ParallelReducerTest.java, v 0.1 2026-10-18 09:40 Sccc Exp $
+ */
+public class ParallelReducerTest {
+
+	private static final CallableTaskCombiner<Integer> SUM = new CallableTaskCombiner<Integer>() {
+		@Override
+		public Integer empty() {
+			return 0;
+		}
+
+		@Override
+		public Integer combine(Integer left, Integer right) {
+			return left + right;
+		}
+	};
+
+	@Test
+	public void reducesOnExecutor() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			ParallelReducer<Integer> reducer = new ParallelReducer<>(pool, SUM, 100);
+			for (int i = 1; i <= 100; i++) {
+				int value = i;
+				pool.execute(() -> reducer.offer(value));
+			}
+			Assert.assertEquals(Integer.valueOf(5050), reducer.await(TimeUnit.SECONDS.toNanos(5)));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void rejectedMergeIsHandedToNextCompletion() throws Exception {
+		List<Integer> depths = Lists.newArrayList();
+		ParallelReducer<Integer> reducer = new ParallelReducer<>(command -> {
+			throw new RejectedExecutionException("saturated");
+		}, new CallableTaskCombiner<Integer>() {
+			@Override
+			public Integer empty() {
+				return 0;
+			}
+
+			@Override
+			public Integer combine(Integer left, Integer right) {
+				depths.add(new Throwable().getStackTrace().length);
+				return left + right;
+			}
+		}, 1000);
+		for (int i = 1; i <= 1000; i++) {
+			reducer.offer(i);
+		}
+		Assert.assertFalse("最后一次合并应留给等待方", reducer.result().isDone());
+		Assert.assertEquals(Integer.valueOf(500500), reducer.await(TimeUnit.SECONDS.toNanos(5)));
+		Assert.assertEquals(999, depths.size());
+		// 合并在offer/await的循环中领取，栈深度不随合并次数增长
+		int min = depths.stream().mapToInt(Integer::intValue).min().orElse(0);
+		int max = depths.stream().mapToInt(Integer::intValue).max().orElse(0);
+		Assert.assertTrue(max - min < 10);
+	}
+
+	@Test(expected = TimeoutException.class)
+	public void awaitTimesOutWhenLeavesMissing() throws Exception {
+		ParallelReducer<Integer> reducer = new ParallelReducer<>(Runnable::run, SUM, 3);
+		reducer.offer(1);
+		reducer.await(TimeUnit.MILLISECONDS.toNanos(50));
+	}
+}
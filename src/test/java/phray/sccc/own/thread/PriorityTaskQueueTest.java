@@ -0,0 +1,114 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 有界优先级队列：优先级排序、同级先进先出、满时阻塞与超时、移除
+ *
+ * @author Phray
+ * @Version PriorityTaskQueueTest.java, v 0.1 2026-10-18 11:20 Sccc Exp $
+ */
+public class PriorityTaskQueueTest {
+
+	@Test
+	public void higherPriorityFirstAndTiesFifo() {
+		PriorityTaskQueue queue = new PriorityTaskQueue(16, 60_000L);
+		TrackedTask low = tracked(0);
+		TrackedTask high = tracked(1);
+		Runnable first = () -> {
+		};
+		Runnable second = () -> {
+		};
+		queue.offer(first);
+		queue.offer(low);
+		queue.offer(second);
+		queue.offer(high);
+
+		Assert.assertSame(high, queue.poll());
+		Assert.assertSame(low, queue.poll());
+		// 非TrackedTask排在最后，彼此按入队顺序
+		Assert.assertSame(first, queue.poll());
+		Assert.assertSame(second, queue.poll());
+		Assert.assertNull(queue.poll());
+	}
+
+	@Test
+	public void offerFailsWhenFullAndTimedOfferWaits() throws InterruptedException {
+		PriorityTaskQueue queue = new PriorityTaskQueue(1);
+		Assert.assertTrue(queue.offer(tracked(0)));
+		Assert.assertFalse(queue.offer(tracked(0)));
+		Assert.assertEquals(0, queue.remainingCapacity());
+
+		long begin = System.nanoTime();
+		Assert.assertFalse(queue.offer(tracked(0), 50, TimeUnit.MILLISECONDS));
+		Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin) >= 40L);
+	}
+
+	@Test
+	public void putBlocksUntilSpace() throws InterruptedException {
+		PriorityTaskQueue queue = new PriorityTaskQueue(1);
+		queue.put(tracked(0));
+		TrackedTask blocked = tracked(0);
+		AtomicBoolean put = new AtomicBoolean();
+		CountDownLatch done = new CountDownLatch(1);
+		Thread producer = new Thread(() -> {
+			try {
+				queue.put(blocked);
+				put.set(true);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				done.countDown();
+			}
+		});
+		producer.start();
+
+		Assert.assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+		Assert.assertNotNull(queue.take());
+		Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assert.assertTrue(put.get());
+		Assert.assertSame(blocked, queue.poll(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void removeAndDrain() {
+		PriorityTaskQueue queue = new PriorityTaskQueue(4);
+		TrackedTask a = tracked(0);
+		TrackedTask b = tracked(0);
+		TrackedTask c = tracked(0);
+		queue.offer(a);
+		queue.offer(b);
+		queue.offer(c);
+
+		Assert.assertTrue(queue.remove(b));
+		Assert.assertFalse(queue.remove(b));
+		Assert.assertFalse(queue.contains(b));
+		Assert.assertEquals(2, queue.remainingCapacity());
+
+		List<Runnable> drained = Lists.newArrayList();
+		Assert.assertEquals(2, queue.drainTo(drained));
+		Assert.assertEquals(Lists.newArrayList(a, c), drained);
+		Assert.assertTrue(queue.isEmpty());
+	}
+
+	private static TrackedTask tracked(int priority) {
+		BaseInnerRun job = new BaseInnerRun("PRIORITY") {
+			@Override
+			protected void doRun() {
+			}
+		};
+		job.setPriority(priority);
+		return new TrackedTask(job);
+	}
+}
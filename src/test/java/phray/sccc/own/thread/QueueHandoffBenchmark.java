@@ -0,0 +1,150 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多生产者下工作队列的提交与移交吞吐，覆盖{@link QueueTypeEnum}的全部队列类型：
+ * <ul>
+ *     <li>handoff: 生产者put、固定消费者线程循环take，只测队列本身；SYNCHRONOUS下put等待消费者取走，即直接移交</li>
+ *     <li>submit: 生产者向以该队列构建的线程池提交空任务，队列满(SYNCHRONOUS为无空闲线程)时阻塞put，
+ *     不走CallerRuns，避免生产者自己执行任务</li>
+ * </ul>
+ * PRIORITY队列中的任务不是TrackedTask，按入队顺序排序，测得的是锁与排序的开销
+ * 生产者数即JMH线程数；运行: 以test classpath执行本类main方法，未指定-t时依次以8/16/32/64个生产者运行
+ *
+ * @author Phray
+ * @Version QueueHandoffBenchmark.java, v 0.1 2026-10-18 16:40 Sccc Exp $
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class QueueHandoffBenchmark {
+
+	private static final int[] PRODUCERS = {8, 16, 32, 64};
+
+	private static final int CAPACITY = 1024;
+
+	private static final int CONSUMERS = 4;
+
+	private static final Runnable NOOP = () -> {
+	};
+
+	@Param({"FIFO", "LINKED", "RING", "PRIORITY", "SYNCHRONOUS"})
+	private QueueTypeEnum queueType;
+
+	private BlockingQueue<Runnable> handoffQueue;
+
+	private Thread[] consumers;
+
+	private ThreadPoolExecutor executor;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		handoffQueue = newQueue(queueType);
+		consumers = new Thread[CONSUMERS];
+		for (int i = 0; i < CONSUMERS; i++) {
+			consumers[i] = new Thread(() -> {
+				try {
+					while (!Thread.currentThread().isInterrupted()) {
+						handoffQueue.take().run();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}, "HANDOFF_CONSUMER_" + i);
+			consumers[i].setDaemon(true);
+			consumers[i].start();
+		}
+
+		executor = new ThreadPoolExecutor(CONSUMERS, CONSUMERS, 60L, TimeUnit.SECONDS, newQueue(queueType),
+				(task, pool) -> {
+					try {
+						pool.getQueue().put(task);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new RejectedExecutionException(e);
+					}
+				});
+		executor.prestartAllCoreThreads();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		for (Thread consumer : consumers) {
+			consumer.interrupt();
+		}
+		executor.shutdownNow();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	@Benchmark
+	public void handoff() throws InterruptedException {
+		handoffQueue.put(NOOP);
+	}
+
+	@Benchmark
+	public void submit() {
+		executor.execute(NOOP);
+	}
+
+	private static BlockingQueue<Runnable> newQueue(QueueTypeEnum queueType) {
+		switch (queueType) {
+			case LINKED:
+				return new LinkedBlockingQueue<>(CAPACITY);
+			case RING:
+				return new RingTaskQueue(CAPACITY);
+			case PRIORITY:
+				return new PriorityTaskQueue(CAPACITY);
+			case SYNCHRONOUS:
+				return new SynchronousQueue<>();
+			default:
+				return new ArrayBlockingQueue<>(CAPACITY);
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions cmd = new CommandLineOptions(args);
+		int[] producers = cmd.getThreads().hasValue() ? new int[]{cmd.getThreads().get()} : PRODUCERS;
+		for (int producer : producers) {
+			new Runner(new OptionsBuilder()
+					.include(QueueHandoffBenchmark.class.getSimpleName())
+					.parent(cmd)
+					.threads(producer)
+					.build()).run();
+		}
+	}
+}
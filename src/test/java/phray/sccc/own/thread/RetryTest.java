@@ -0,0 +1,112 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import org.junit.Assert;
+import org.junit.Test;
+import phray.sccc.own.exception.BizException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 失败重试：按指数退避重新提交、达到最大次数后失败、超时被取消的执行退出后才重试
+ *
+ * @author Phray
+ * @Version RetryTest.java, v 0.1 2026-10-18 15:45 Sccc Exp $
+ */
+public class RetryTest {
+
+	private final ThreadPoolHelper helper = new ThreadPoolHelper();
+
+	@Test
+	public void retriesWithExponentialBackoff() throws Exception {
+		List<Long> startNanos = new CopyOnWriteArrayList<>();
+		BaseInnerCall<String> task = new BaseInnerCall<String>("RETRY_BACKOFF") {
+			@Override
+			protected String doCall() {
+				startNanos.add(System.nanoTime());
+				if (startNanos.size() < 3) {
+					throw new IllegalStateException("attempt " + startNanos.size());
+				}
+				return "ok";
+			}
+		};
+		RetryPolicy policy = RetryPolicy.builder().maxAttempts(3).initialBackoffMillis(60L).multiplier(2.0D)
+				.jitter(false).build();
+
+		Assert.assertEquals("ok", helper.runCallableTaskWithRetry(task, ThreadPoolEnum.COMMON, policy)
+				.get(5, TimeUnit.SECONDS));
+		Assert.assertEquals(3, startNanos.size());
+		Assert.assertTrue(gapMillis(startNanos, 1) >= 60L);
+		Assert.assertTrue(gapMillis(startNanos, 2) >= 120L);
+	}
+
+	@Test
+	public void failsWithLastErrorAfterMaxAttempts() throws InterruptedException {
+		AtomicInteger attempts = new AtomicInteger();
+		BaseInnerCall<String> task = new BaseInnerCall<String>("RETRY_EXHAUSTED") {
+			@Override
+			protected String doCall() {
+				throw new IllegalStateException("attempt " + attempts.incrementAndGet());
+			}
+		};
+		RetryPolicy policy = RetryPolicy.builder().maxAttempts(2).initialBackoffMillis(10L).build();
+		CompletableFuture<String> result = helper.runCallableTaskWithRetry(task, ThreadPoolEnum.COMMON, policy);
+
+		try {
+			result.get(5, TimeUnit.SECONDS);
+			Assert.fail("重试耗尽后应失败");
+		} catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof BizException);
+			Assert.assertTrue(e.getCause().getMessage().contains("attempt 2"));
+		} catch (TimeoutException e) {
+			Assert.fail("重试未结束");
+		}
+		Assert.assertEquals(2, attempts.get());
+	}
+
+	@Test
+	public void waitsForTimedOutAttemptToExit() throws Exception {
+		AtomicInteger attempts = new AtomicInteger();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		BaseInnerCall<String> task = new BaseInnerCall<String>("RETRY_TIMEOUT") {
+			@Override
+			protected String doCall() {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				try {
+					if (attempts.incrementAndGet() == 1) {
+						// 忽略中断，超时取消后仍继续执行一段时间
+						long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300L);
+						while (System.nanoTime() < end) {
+							LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5L));
+						}
+					}
+					return "ok";
+				} finally {
+					running.decrementAndGet();
+				}
+			}
+		};
+		task.setTimeoutMillis(50L);
+		RetryPolicy policy = RetryPolicy.builder().maxAttempts(2).initialBackoffMillis(10L).build();
+
+		Assert.assertEquals("ok", helper.runCallableTaskWithRetry(task, ThreadPoolEnum.COMMON, policy)
+				.get(5, TimeUnit.SECONDS));
+		Assert.assertEquals(2, attempts.get());
+		Assert.assertEquals(1, maxRunning.get());
+	}
+
+	private static long gapMillis(List<Long> startNanos, int index) {
+		return TimeUnit.NANOSECONDS.toMillis(startNanos.get(index) - startNanos.get(index - 1));
+	}
+}
@@ -0,0 +1,210 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 无锁环形队列：满时拒绝、阻塞与超时入队、移除后不再执行、线程池移除/清理/关闭排空
+ *
+ * @author Phray
+ * @Version RingTaskQueueTest.java, v 0.1 2026-10-18 16:10 Sccc Exp $
+ */
+public class RingTaskQueueTest {
+
+	@Test
+	public void offerFailsWhenFullAndTimedOfferWaits() throws InterruptedException {
+		// 容量向上取整为2的幂
+		RingTaskQueue queue = new RingTaskQueue(3);
+		for (int i = 0; i < 4; i++) {
+			Assert.assertTrue(queue.offer(noop()));
+		}
+		Assert.assertFalse(queue.offer(noop()));
+		Assert.assertEquals(4, queue.size());
+		Assert.assertEquals(0, queue.remainingCapacity());
+
+		long begin = System.nanoTime();
+		Assert.assertFalse(queue.offer(noop(), 50, TimeUnit.MILLISECONDS));
+		Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin) >= 50L);
+		Assert.assertEquals(4, queue.size());
+	}
+
+	@Test
+	public void putBlocksUntilSpace() throws InterruptedException {
+		RingTaskQueue queue = new RingTaskQueue(2);
+		Runnable head = noop();
+		queue.offer(head);
+		queue.offer(noop());
+		Runnable tail = noop();
+		AtomicBoolean put = new AtomicBoolean();
+		CountDownLatch done = new CountDownLatch(1);
+		Thread producer = new Thread(() -> {
+			try {
+				queue.put(tail);
+				put.set(true);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			done.countDown();
+		});
+		producer.start();
+
+		Assert.assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+		Assert.assertFalse(put.get());
+		Assert.assertSame(head, queue.poll());
+		Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+		Assert.assertTrue(put.get());
+		queue.poll();
+		Assert.assertSame(tail, queue.poll());
+	}
+
+	@Test
+	public void timedOfferSucceedsOnceSpaceFrees() throws InterruptedException {
+		RingTaskQueue queue = new RingTaskQueue(2);
+		queue.offer(noop());
+		queue.offer(noop());
+		Thread consumer = new Thread(() -> {
+			try {
+				Thread.sleep(50L);
+				queue.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		consumer.start();
+
+		Assert.assertTrue(queue.offer(noop(), 5, TimeUnit.SECONDS));
+		Assert.assertEquals(2, queue.size());
+	}
+
+	@Test
+	public void blockingHandoffLosesNothing() throws InterruptedException {
+		RingTaskQueue queue = new RingTaskQueue(16);
+		int producerCnt = 4;
+		int perProducer = 10_000;
+		AtomicInteger ran = new AtomicInteger();
+		List<Thread> threads = Lists.newArrayList();
+		for (int p = 0; p < producerCnt; p++) {
+			threads.add(new Thread(() -> {
+				try {
+					for (int i = 0; i < perProducer; i++) {
+						queue.put(ran::incrementAndGet);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+		}
+		for (int c = 0; c < 2; c++) {
+			threads.add(new Thread(() -> {
+				try {
+					for (int i = 0; i < producerCnt * perProducer / 2; i++) {
+						queue.take().run();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join(TimeUnit.SECONDS.toMillis(30));
+		}
+
+		Assert.assertEquals(producerCnt * perProducer, ran.get());
+		Assert.assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	public void removedTaskIsSkipped() {
+		RingTaskQueue queue = new RingTaskQueue(4);
+		Runnable first = noop();
+		Runnable removed = noop();
+		Runnable last = noop();
+		queue.offer(first);
+		queue.offer(removed);
+		queue.offer(last);
+
+		Assert.assertTrue(queue.remove(removed));
+		Assert.assertFalse(queue.remove(removed));
+		Assert.assertFalse(queue.contains(removed));
+		Assert.assertEquals(2, queue.size());
+		Assert.assertSame(first, queue.poll());
+		Assert.assertSame(last, queue.poll());
+		Assert.assertNull(queue.poll());
+		Assert.assertTrue(queue.isEmpty());
+		Assert.assertEquals(0, queue.size());
+
+		// 迭代器remove作用于队列
+		queue.offer(first);
+		queue.offer(last);
+		Iterator<Runnable> it = queue.iterator();
+		Assert.assertSame(first, it.next());
+		it.remove();
+		Assert.assertSame(last, queue.poll());
+		Assert.assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	public void executorRemovePurgeAndShutdownDrain() throws InterruptedException {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new RingTaskQueue(8));
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		executor.execute(() -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		AtomicInteger ran = new AtomicInteger();
+		Runnable removed = ran::incrementAndGet;
+		Future<?> cancelled = executor.submit(ran::incrementAndGet);
+		executor.execute(removed);
+		List<Runnable> queued = Lists.newArrayList();
+		for (int i = 0; i < 3; i++) {
+			Runnable task = ran::incrementAndGet;
+			queued.add(task);
+			executor.execute(task);
+		}
+
+		Assert.assertTrue(executor.remove(removed));
+		cancelled.cancel(false);
+		executor.purge();
+		Assert.assertEquals(3, executor.getQueue().size());
+
+		List<Runnable> drained = executor.shutdownNow();
+		Assert.assertEquals(queued, drained);
+		Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+		Assert.assertEquals(0, ran.get());
+	}
+
+	/**
+	 * 每次返回不同的实例(无捕获的lambda会被复用)
+	 */
+	private static Runnable noop() {
+		return new Runnable() {
+			@Override
+			public void run() {
+			}
+		};
+	}
+}
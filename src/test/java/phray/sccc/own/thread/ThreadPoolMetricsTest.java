@@ -0,0 +1,91 @@
+/**
+ * pHray_sc
+ * Copyright (c) 1970-2022 All Rights Reserved
+ */
+package phray.sccc.own.thread;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 线程池指标：CallerRuns执行计入统计，出队时已取消的任务不计入
+ *
+ * @author Phray
+ * @Version ThreadPoolMetricsTest.java, v 0.1 2026-10-18 10:40 Sccc Exp $
+ */
+public class ThreadPoolMetricsTest {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private MonitoredThreadPoolExecutor executor;
+
+	@Before
+	public void setUp() throws InterruptedException {
+		executor = new MonitoredThreadPoolExecutor(ThreadPoolEnum.COMMON, 1, 1, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(1), Executors.defaultThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+		CountDownLatch started = new CountDownLatch(1);
+		executor.execute(() -> {
+			started.countDown();
+			awaitQuietly(release);
+		});
+		started.await();
+	}
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void callerRunsIsRecorded() {
+		// 占满队列，之后的提交在当前线程执行
+		executor.execute(() -> {
+		});
+		executor.execute(() -> {
+		});
+		try {
+			executor.execute(() -> {
+				throw new IllegalStateException("boom");
+			});
+			Assert.fail("CallerRuns应在提交线程上抛出任务异常");
+		} catch (IllegalStateException expected) {
+			Assert.assertEquals("boom", expected.getMessage());
+		}
+
+		ThreadPoolMetrics metrics = executor.getMetrics();
+		Assert.assertEquals(2, metrics.getCallerRunsCnt());
+		Assert.assertEquals(2, metrics.getCompletedCnt());
+		Assert.assertEquals(1, metrics.getFailedCnt());
+	}
+
+	@Test
+	public void cancelledTaskIsNotCounted() throws InterruptedException {
+		Future<?> queued = executor.submit(() -> {
+		});
+		queued.cancel(false);
+
+		release.countDown();
+		executor.shutdown();
+		Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+		// 仅计入阻塞任务本身
+		Assert.assertEquals(1, executor.getCompletedCnt());
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}